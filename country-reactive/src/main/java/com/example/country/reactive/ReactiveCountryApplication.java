@@ -0,0 +1,16 @@
+package com.example.country.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication(scanBasePackages = {
+        "com.example.country.reactive",
+        "com.example.country.data.controller.converter"
+})
+public class ReactiveCountryApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveCountryApplication.class, args);
+    }
+
+}
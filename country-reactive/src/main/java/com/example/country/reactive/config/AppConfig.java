@@ -0,0 +1,41 @@
+package com.example.country.reactive.config;
+
+import com.example.country.reactive.service.AppErrorWebExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.boot.web.reactive.error.ErrorAttributes;
+import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.codec.ServerCodecConfigurer;
+
+@Configuration
+public class AppConfig {
+
+    @Value("${app.api.version}")
+    private String apiVersion;
+
+    // Same order as the Spring Boot default handler, which backs off when this bean exists
+    @Bean
+    @Order(-2)
+    public ErrorWebExceptionHandler errorWebExceptionHandler(ErrorAttributes errorAttributes,
+                                                             WebProperties webProperties,
+                                                             ServerProperties serverProperties,
+                                                             ServerCodecConfigurer serverCodecConfigurer,
+                                                             ApplicationContext applicationContext
+    ) {
+        final var handler = new AppErrorWebExceptionHandler(
+                apiVersion,
+                errorAttributes,
+                webProperties.getResources(),
+                serverProperties.getError(),
+                applicationContext);
+        handler.setMessageWriters(serverCodecConfigurer.getWriters());
+        handler.setMessageReaders(serverCodecConfigurer.getReaders());
+        return handler;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.example.country.reactive.data.controller;
+
+import com.example.country.data.controller.dto.AddCountryRequestDTO;
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
+import com.example.country.reactive.service.CountryService;
+import com.example.country.util.ETagUtil;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@Controller
+@RequestMapping("/api/v1/countries")
+@RequiredArgsConstructor
+public class CountriesController {
+
+    private final CountryService countryService;
+
+    @PostMapping
+    public Mono<ResponseEntity<CountryResponseDTO>> add(@Valid @RequestBody AddCountryRequestDTO requestDTO) {
+        return countryService.add(requestDTO.name(), requestDTO.code())
+                .map(country -> new ResponseEntity<>(country, HttpStatus.CREATED));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<PageResponseDTO>> findAll(
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "code", required = false) String code,
+            @RequestParam(name = "total", defaultValue = "exact") TotalKind total,
+            @PageableDefault Pageable pageable,
+            ServerWebExchange exchange
+    ) {
+
+        // Read before the page, so the page is never older than the version it is tagged with
+        return countryService.getCatalogVersion()
+                .flatMap(version -> {
+                    final var eTag = ETagUtil.catalogETag(version);
+                    if (exchange.checkNotModified(eTag))
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(eTag)
+                                .<PageResponseDTO>build());
+                    return countryService.findAll(new CountryFilter(name, code), total, pageable)
+                            .map(page -> ResponseEntity.ok().eTag(eTag).body(page));
+                });
+
+    }
+
+}
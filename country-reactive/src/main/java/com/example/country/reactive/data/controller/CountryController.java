@@ -0,0 +1,74 @@
+package com.example.country.reactive.data.controller;
+
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.UpdateCountryRequestDTO;
+import com.example.country.reactive.service.CountryService;
+import com.example.country.util.ETagUtil;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.sql.Timestamp;
+
+@Controller
+@RequestMapping("/api/v1/country/{id}")
+@RequiredArgsConstructor
+public class CountryController {
+
+    private final CountryService countryService;
+
+    // Revalidation only reads date_updated, the row itself is loaded when the client copy is stale
+    @GetMapping
+    public Mono<ResponseEntity<CountryResponseDTO>> findById(@PathVariable("id") Long id, ServerWebExchange exchange) {
+
+        final var headers = exchange.getRequest().getHeaders();
+        if (!headers.containsKey(HttpHeaders.IF_NONE_MATCH) && !headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE))
+            return find(id);
+
+        return countryService.findVersionById(id)
+                .flatMap(dateUpdated -> {
+                    final var version = Timestamp.valueOf(dateUpdated);
+                    final var eTag = ETagUtil.countryETag(id, version);
+                    if (exchange.checkNotModified(eTag, version.toInstant()))
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(eTag)
+                                .lastModified(version.toInstant())
+                                .<CountryResponseDTO>build());
+                    return find(id);
+                });
+
+    }
+
+    // PATCH and DELETE run a single statement each, missing ids surface as CountryNotFoundException
+    @PatchMapping
+    public Mono<ResponseEntity<CountryResponseDTO>> update(@PathVariable("id") Long id,
+                                                           @Valid @RequestBody UpdateCountryRequestDTO requestDTO
+    ) {
+        return countryService.update(id, requestDTO.name(), requestDTO.code())
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping
+    public Mono<ResponseEntity<Void>> delete(@PathVariable("id") Long id) {
+        return countryService.delete(id)
+                .thenReturn(new ResponseEntity<Void>(HttpStatus.NO_CONTENT));
+    }
+
+    private Mono<ResponseEntity<CountryResponseDTO>> find(Long id) {
+        return countryService.findById(id)
+                .map(country -> {
+                    final var version = Timestamp.valueOf(country.dateUpdated());
+                    return ResponseEntity.ok()
+                            .eTag(ETagUtil.countryETag(id, version))
+                            .lastModified(version.toInstant())
+                            .body(country);
+                });
+    }
+
+}
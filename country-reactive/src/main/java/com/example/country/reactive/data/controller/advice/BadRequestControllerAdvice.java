@@ -0,0 +1,51 @@
+package com.example.country.reactive.data.controller.advice;
+
+import com.example.country.data.controller.dto.ApiError;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+@Slf4j
+@ControllerAdvice
+public class BadRequestControllerAdvice {
+
+    @Value("${app.api.version}")
+    private String apiVersion;
+
+    // WebFlux reports @Valid failures as WebExchangeBindException, the body matches the MVC BindException one
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiError> handleBindException(WebExchangeBindException exception,
+                                                        ServerHttpRequest request
+    ) {
+
+        final var uri = request.getPath().value();
+        log.info("Bad request. uri: {}, message: {}", uri, exception.getMessage());
+
+        var errorItems = exception.getAllErrors().stream()
+                .map(error -> new ApiError.ErrorItem(
+                        uri,
+                        error.getCode(),
+                        error.getDefaultMessage()))
+                .toList();
+
+        var message = errorItems.size() > 1
+                ? "Bad request. Multiple validation errors"
+                : "Bad request. " + errorItems.getFirst().itemMessage();
+
+        ApiError apiError = ApiError.builderErrors()
+                .apiVersion(apiVersion)
+                .code(HttpStatus.BAD_REQUEST.toString())
+                .message(message)
+                .errorItems(errorItems)
+                .buildErrors();
+
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.country.reactive.data.controller.advice;
+
+import com.example.country.data.controller.dto.ApiError;
+import com.example.country.ex.CountryAlreadyExistsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@Slf4j
+@ControllerAdvice
+public class CountryAlreadyExistsControllerAdvice {
+
+    @Value("${app.api.version}")
+    private String apiVersion;
+
+    @ExceptionHandler(CountryAlreadyExistsException.class)
+    public ResponseEntity<ApiError> handeCountryAlreadyExists(CountryAlreadyExistsException exception,
+                                                              ServerHttpRequest request
+    ) {
+
+        log.info("Country already exists. uri: {}, message: {}", request.getPath().value(), exception.getMessage());
+
+        ApiError apiError = ApiError.builder()
+                .apiVersion(apiVersion)
+                .code(HttpStatus.CONFLICT.toString())
+                .message("Country already exists")
+                .domain(request.getPath().value())
+                .reason(exception.getMessage())
+                .build();
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+
+    }
+
+}
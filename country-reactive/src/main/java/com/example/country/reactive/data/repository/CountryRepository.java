@@ -0,0 +1,164 @@
+package com.example.country.reactive.data.repository;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.util.LikeUtil;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Plain SQL over R2DBC, the statements are the native queries of the JPA CountryRepository
+@Repository
+@RequiredArgsConstructor
+public class CountryRepository {
+
+    private static final String COLUMNS = "id, name, code, date_created, date_updated";
+
+    // Request sort properties are entity property names, as on the JPA stack
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "code", "code",
+            "dateCreated", "date_created",
+            "dateUpdated", "date_updated");
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<CountryResponseDTO> findById(@Nonnull Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM app.country WHERE id = :id")
+                .bind("id", id)
+                .map(CountryRepository::toDTO)
+                .one();
+    }
+
+    public Mono<LocalDateTime> findDateUpdatedById(@Nonnull Long id) {
+        return databaseClient.sql("SELECT date_updated FROM app.country WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("date_updated", LocalDateTime.class))
+                .one();
+    }
+
+    // Bumped once per writing transaction at commit, see V6__country_catalog_version.sql
+    public Mono<Long> findCatalogVersion() {
+        return databaseClient.sql("SELECT version FROM app.country_catalog_version")
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    // Reads one row past the page, so the caller can tell whether there is a next page without counting
+    public Flux<CountryResponseDTO> findSlice(@Nonnull CountryFilter filter, @Nonnull Pageable pageable) {
+        final var params = params(filter);
+        var spec = databaseClient.sql("SELECT " + COLUMNS + " FROM app.country" + where(params)
+                        + orderBy(pageable.getSort())
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize() + 1)
+                .bind("offset", pageable.getOffset());
+        for (var param : params.entrySet())
+            spec = spec.bind(param.getKey(), param.getValue());
+        return spec.map(CountryRepository::toDTO).all();
+    }
+
+    public Mono<Long> count(@Nonnull CountryFilter filter) {
+        final var params = params(filter);
+        var spec = databaseClient.sql("SELECT count(*) AS total FROM app.country" + where(params));
+        for (var param : params.entrySet())
+            spec = spec.bind(param.getKey(), param.getValue());
+        return spec.map(row -> row.get("total", Long.class)).one();
+    }
+
+    // Relies on the lower(name)/lower(code) unique indexes, completes empty when the country already exists
+    public Mono<CountryResponseDTO> insertIfAbsent(@Nonnull String name, @Nonnull String code, @Nonnull LocalDateTime now) {
+        return databaseClient.sql("""
+                        INSERT INTO app.country (name, code, date_created, date_updated)
+                        VALUES (:name, :code, :now, :now)
+                        ON CONFLICT DO NOTHING
+                        RETURNING\s""" + COLUMNS)
+                .bind("name", name)
+                .bind("code", code)
+                .bind("now", now)
+                .map(CountryRepository::toDTO)
+                .one();
+    }
+
+    // Empty name or code keeps the stored value, completes empty when there is no country with this id
+    public Mono<CountryResponseDTO> updateById(@Nonnull Long id,
+                                               @Nonnull String name,
+                                               @Nonnull String code,
+                                               @Nonnull LocalDateTime now
+    ) {
+        return databaseClient.sql("""
+                        UPDATE app.country
+                        SET name         = coalesce(nullif(:name, ''), name),
+                            code         = coalesce(nullif(:code, ''), code),
+                            date_updated = :now
+                        WHERE id = :id
+                        RETURNING\s""" + COLUMNS)
+                .bind("id", id)
+                .bind("name", name)
+                .bind("code", code)
+                .bind("now", now)
+                .map(CountryRepository::toDTO)
+                .one();
+    }
+
+    public Mono<Long> deleteById(@Nonnull Long id) {
+        return databaseClient.sql("DELETE FROM app.country WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static CountryResponseDTO toDTO(Readable row) {
+        return CountryResponseDTO.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .code(row.get("code", String.class))
+                .dateCreated(row.get("date_created", LocalDateTime.class))
+                .dateUpdated(row.get("date_updated", LocalDateTime.class))
+                .build();
+    }
+
+    private static Map<String, String> params(CountryFilter filter) {
+        final var params = new LinkedHashMap<String, String>();
+        if (filter.name() != null && !filter.name().trim().isEmpty())
+            params.put("name", LikeUtil.containsPattern(filter.name()));
+        if (filter.code() != null && !filter.code().trim().isEmpty())
+            params.put("code", LikeUtil.containsPattern(filter.code()));
+        return params;
+    }
+
+    // lower(field) LIKE '%text%' matches the pg_trgm GIN indexes from V2__country_trigram_indexes.sql
+    private static String where(Map<String, String> params) {
+        if (params.isEmpty())
+            return "";
+        return params.keySet().stream()
+                .map(column -> "lower(%s) LIKE :%s ESCAPE '\\'".formatted(column, column))
+                .collect(Collectors.joining(" AND ", " WHERE ", ""));
+    }
+
+    // Unsorted pages fall back to the primary key, OFFSET paging needs a stable order
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted())
+            return " ORDER BY id";
+        return sort.stream()
+                .map(order -> {
+                    final var column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null)
+                        throw new IllegalArgumentException("Unknown sort property [%s]".formatted(order.getProperty()));
+                    return column + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", ", " ORDER BY ", ""));
+    }
+
+}
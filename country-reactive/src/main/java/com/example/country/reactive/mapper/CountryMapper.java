@@ -0,0 +1,27 @@
+package com.example.country.reactive.mapper;
+
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
+import org.springframework.data.domain.Slice;
+
+// Same page shape as the JPA CountryMapper, built from a slice and a separately counted total.
+// Slice-only and estimated pages come from PageUtil
+public class CountryMapper {
+
+    private CountryMapper() {
+    }
+
+    public static PageResponseDTO toPage(Slice<CountryResponseDTO> slice, long total) {
+        return PageResponseDTO.builder()
+                .currentPage(slice.getPageable().getPageNumber())
+                .itemsPerPage(slice.getSize())
+                .totalItems(total)
+                .totalPages((int) ((total + slice.getSize() - 1) / slice.getSize()))
+                .totalKind(TotalKind.EXACT)
+                .hasNext(slice.hasNext())
+                .data(slice.getContent())
+                .build();
+    }
+
+}
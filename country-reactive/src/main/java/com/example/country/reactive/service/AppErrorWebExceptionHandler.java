@@ -0,0 +1,38 @@
+package com.example.country.reactive.service;
+
+import com.example.country.data.controller.dto.ApiError;
+import org.springframework.boot.autoconfigure.web.ErrorProperties;
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.boot.autoconfigure.web.reactive.error.DefaultErrorWebExceptionHandler;
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.boot.web.reactive.error.ErrorAttributes;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+// WebFlux counterpart of AppErrorAttributes: errors without an exception handler are rendered as ApiError
+public class AppErrorWebExceptionHandler extends DefaultErrorWebExceptionHandler {
+
+    private final String apiVersion;
+
+    public AppErrorWebExceptionHandler(String apiVersion,
+                                       ErrorAttributes errorAttributes,
+                                       WebProperties.Resources resources,
+                                       ErrorProperties errorProperties,
+                                       ApplicationContext applicationContext
+    ) {
+        super(errorAttributes, resources, errorProperties, applicationContext);
+        this.apiVersion = apiVersion;
+    }
+
+    @Override
+    protected Mono<ServerResponse> renderErrorResponse(ServerRequest request) {
+        final var attributes = getErrorAttributes(request, ErrorAttributeOptions.defaults());
+        return ServerResponse.status(getHttpStatus(attributes))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiError.fromAttributesMap(apiVersion, attributes));
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.example.country.reactive.service;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
+import jakarta.annotation.Nonnull;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface CountryService {
+
+    Mono<CountryResponseDTO> findById(@Nonnull Long id);
+
+    Mono<LocalDateTime> findVersionById(@Nonnull Long id);
+
+    Mono<Long> getCatalogVersion();
+
+    Mono<PageResponseDTO> findAll(@Nonnull CountryFilter countryFilter, @Nonnull TotalKind total, @Nonnull Pageable pageable);
+
+    Mono<CountryResponseDTO> add(@Nonnull String name, @Nonnull String code);
+
+    Mono<CountryResponseDTO> update(@Nonnull Long id, String name, String code);
+
+    Mono<Void> delete(@Nonnull Long id);
+
+}
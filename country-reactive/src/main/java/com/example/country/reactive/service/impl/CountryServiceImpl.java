@@ -0,0 +1,101 @@
+package com.example.country.reactive.service.impl;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
+import com.example.country.ex.CountryAlreadyExistsException;
+import com.example.country.ex.CountryNotFoundException;
+import com.example.country.reactive.data.repository.CountryRepository;
+import com.example.country.reactive.mapper.CountryMapper;
+import com.example.country.reactive.service.CountryService;
+import com.example.country.util.DateUtil;
+import com.example.country.util.PageUtil;
+import jakarta.annotation.Nonnull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class CountryServiceImpl implements CountryService {
+
+    private final CountryRepository countryRepository;
+
+    @Override
+    public Mono<CountryResponseDTO> findById(@Nonnull Long id) {
+        return countryRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    @Override
+    public Mono<LocalDateTime> findVersionById(@Nonnull Long id) {
+        return countryRepository.findDateUpdatedById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    @Override
+    public Mono<Long> getCatalogVersion() {
+        return countryRepository.findCatalogVersion();
+    }
+
+    @Override
+    public Mono<PageResponseDTO> findAll(@Nonnull CountryFilter countryFilter,
+                                         @Nonnull TotalKind total,
+                                         @Nonnull Pageable pageable
+    ) {
+
+        final var slice = countryRepository.findSlice(countryFilter, pageable)
+                .collectList()
+                .map(rows -> {
+                    final var hasNext = rows.size() > pageable.getPageSize();
+                    final var content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+                    return new SliceImpl<>(content, pageable, hasNext);
+                });
+
+        // The count runs next to the page query on its own connection. There is no count cache on this stack,
+        // so estimated totals are counted like exact ones
+        return switch (total) {
+            case EXACT -> Mono.zip(slice, countryRepository.count(countryFilter))
+                    .map(pageAndTotal -> CountryMapper.toPage(pageAndTotal.getT1(), pageAndTotal.getT2()));
+            case ESTIMATED -> Mono.zip(slice, countryRepository.count(countryFilter))
+                    .map(pageAndTotal -> PageUtil.toEstimatedPage(pageAndTotal.getT1(), pageAndTotal.getT2()));
+            case NONE -> slice.map(PageUtil::toSlicePage);
+        };
+
+    }
+
+    @Override
+    public Mono<CountryResponseDTO> add(@Nonnull String name, @Nonnull String code) {
+        return countryRepository.insertIfAbsent(name, code, DateUtil.getCurrentTimestamp().toLocalDateTime())
+                .switchIfEmpty(Mono.error(() -> new CountryAlreadyExistsException("Country already exists")));
+    }
+
+    @Override
+    public Mono<CountryResponseDTO> update(@Nonnull Long id, String name, String code) {
+        return countryRepository.updateById(
+                        id,
+                        Objects.requireNonNullElse(name, ""),
+                        Objects.requireNonNullElse(code, ""),
+                        DateUtil.getCurrentTimestamp().toLocalDateTime())
+                .onErrorMap(DuplicateKeyException.class, ex -> new CountryAlreadyExistsException("Country already exists"))
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    @Override
+    public Mono<Void> delete(@Nonnull Long id) {
+        return countryRepository.deleteById(id)
+                .flatMap(deleted -> deleted == 0 ? Mono.error(notFound(id)) : Mono.empty());
+    }
+
+    private static CountryNotFoundException notFound(Long id) {
+        return new CountryNotFoundException("Country with id = [%d] not found".formatted(id));
+    }
+
+}
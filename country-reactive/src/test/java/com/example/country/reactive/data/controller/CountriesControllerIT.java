@@ -0,0 +1,284 @@
+package com.example.country.reactive.data.controller;
+
+import com.example.country.reactive.TestcontainersConfig;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// Not @Transactional: R2DBC statements run outside the test transaction, so every test cleans up after itself
+@SpringBootTest
+@AutoConfigureWebTestClient
+@Import(TestcontainersConfig.class)
+@Sql(value = "/sql/countries.sql", statements = "SELECT setval('app.country_id_seq', 4)")
+@Sql(statements = "TRUNCATE app.country", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DisplayName("Reactive CountriesController: Integration tests")
+class CountriesControllerIT {
+
+    private static final String COUNTRIES_URL = "/api/v1/countries";
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("add: returns added country when request is valid")
+    void add_ValidRequest_ReturnsAddedCountry() {
+
+        // Steps
+        webTestClient.post()
+                .uri(COUNTRIES_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                          "name": "Spain",
+                          "code": "SP"
+                        }""")
+                .exchange()
+
+                // Assertions
+                .expectStatus().isCreated()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.name").isEqualTo("Spain")
+                .jsonPath("$.code").isEqualTo("SP");
+
+    }
+
+    @Test
+    @DisplayName("add: throws CONFLICT when country already exists")
+    void add_ExistingCountry_ThrowsConflict() {
+
+        // Steps
+        webTestClient.post()
+                .uri(COUNTRIES_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                          "name": "Japan",
+                          "code": "JP"
+                        }""")
+                .exchange()
+
+                // Assertions
+                .expectStatus().isEqualTo(409)
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("""
+                        {
+                        	"apiVersion": "1.0",
+                        	"error": {
+                        		"code": "409 CONFLICT",
+                        		"message": "Country already exists",
+                        		"errors": [
+                        			{
+                        				"domain": "/api/v1/countries",
+                        				"reason": "Country already exists",
+                        				"message": "Country already exists"
+                        			}
+                        		]
+                        	}
+                        }
+                        """);
+
+    }
+
+    @Test
+    @DisplayName("add: throws CONFLICT when country exists with different letter case")
+    void add_ExistingCountryIgnoringCase_ThrowsConflict() {
+
+        // Steps
+        webTestClient.post()
+                .uri(COUNTRIES_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                          "name": "jApAn",
+                          "code": "XX"
+                        }""")
+                .exchange()
+
+                // Assertions
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo("409 CONFLICT");
+
+    }
+
+    @Test
+    @DisplayName("add: throws BAD_REQUEST when request is invalid")
+    void add_InvalidRequest_ThrowsBadRequest() {
+
+        // Steps
+        webTestClient.post()
+                .uri(COUNTRIES_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                          "name": "Jp",
+                          "code": "J"
+                        }""")
+                .exchange()
+
+                // Assertions
+                .expectStatus().isBadRequest()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("""
+                        {
+                         	"apiVersion": "1.0",
+                         	"error": {
+                         		"code": "400 BAD_REQUEST",
+                         		"message": "Bad request. Multiple validation errors",
+                         		"errors": [
+                         			{
+                         				"domain": "/api/v1/countries",
+                         				"reason": "Size",
+                         				"message": "invalid country code"
+                         			},
+                         			{
+                         				"domain": "/api/v1/countries",
+                         				"reason": "Size",
+                         				"message": "invalid country name"
+                         			}
+                         		]
+                         	}
+                         }
+                        """);
+
+    }
+
+    @Test
+    @DisplayName("findAll: returns page response for valid request")
+    void findAll_ValidRequest_ReturnsPageResponse() {
+
+        // Steps
+        webTestClient.get()
+                .uri(COUNTRIES_URL)
+                .exchange()
+
+                // Assertions
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("""
+                        {
+                         	"current_page": 0,
+                         	"pages": 1,
+                         	"items_per_page": 10,
+                         	"total_items": 4,
+                         	"data": [
+                         		{
+                         			"id": 1,
+                         			"name": "Japan",
+                         			"code": "JP"
+                         		},
+                         		{
+                         			"id": 2,
+                         			"name": "France",
+                         			"code": "FR"
+                         		},
+                         		{
+                         			"id": 3,
+                         			"name": "Australia",
+                         			"code": "AU"
+                         		},
+                         		{
+                         			"id": 4,
+                         			"name": "Austria"
+                         		}
+                         	]
+                         }
+                        """);
+
+    }
+
+    @Test
+    @DisplayName("findAll: filters by partial name and sorts by request")
+    void findAll_FilteredSortedRequest_ReturnsFilteredPage() {
+
+        // Steps
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(COUNTRIES_URL)
+                        .queryParam("name", "aus")
+                        .queryParam("sort", "name,desc")
+                        .build())
+                .exchange()
+
+                // Assertions
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total_items").isEqualTo(2)
+                .jsonPath("$.data[*].name").value(Matchers.contains("Austria", "Australia"));
+
+    }
+
+    @Test
+    @DisplayName("findAll: returns page without totals when total kind is none")
+    void findAll_NoTotal_ReturnsPageWithoutTotals() {
+
+        // Steps
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(COUNTRIES_URL)
+                        .queryParam("total", "none")
+                        .queryParam("size", "3")
+                        .build())
+                .exchange()
+
+                // Assertions
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.total_kind").isEqualTo("none")
+                .jsonPath("$.has_next").isEqualTo(true)
+                .jsonPath("$.total_items").doesNotExist()
+                .jsonPath("$.pages").doesNotExist()
+                .jsonPath("$.data.length()").isEqualTo(3);
+
+    }
+
+    @Test
+    @DisplayName("findAll: returns NOT_MODIFIED until the catalog version changes")
+    void findAll_ConditionalRequest_RevalidatesByCatalogVersion() {
+
+        // Data
+        final var eTag = webTestClient.get()
+                .uri(COUNTRIES_URL + "?name=aus")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        // Steps & Assertions
+        webTestClient.get()
+                .uri(COUNTRIES_URL + "?name=aus")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        webTestClient.delete()
+                .uri("/api/v1/country/4")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get()
+                .uri(COUNTRIES_URL + "?name=aus")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, Matchers.not(eTag))
+                .expectBody()
+                .jsonPath("$.total_items").isEqualTo(1);
+
+    }
+
+}
@@ -0,0 +1,306 @@
+package com.example.country.reactive.data.controller;
+
+import com.example.country.reactive.TestcontainersConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+// Not @Transactional: R2DBC statements run outside the test transaction, so every test cleans up after itself
+@SpringBootTest
+@AutoConfigureWebTestClient
+@Import(TestcontainersConfig.class)
+@Sql("/sql/countries.sql")
+@Sql(statements = "TRUNCATE app.country", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DisplayName("Reactive CountryController: Integration tests")
+class CountryControllerIT {
+
+    private static final String COUNTRY_URL = "/api/v1/country/";
+    private static final long MISSING_ID = 42;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("findById: returns country when request is valid")
+    void findById_ValidRequest_ReturnsCountry() {
+
+        // Steps
+        webTestClient.get()
+                .uri(COUNTRY_URL + 1)
+                .exchange()
+
+                // Assertions
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("""
+                        {
+                        	"id": 1,
+                        	"name": "Japan",
+                        	"code": "JP",
+                        	"date_created": "2024-12-12 12:12:12.534"
+                        }
+                        """);
+
+    }
+
+    @Test
+    @DisplayName("findById: returns NOT_MODIFIED when ETag matches and OK when it is stale")
+    void findById_ConditionalRequest_RevalidatesByVersion() {
+
+        // Data
+        final var headers = webTestClient.get()
+                .uri(COUNTRY_URL + 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .returnResult(String.class)
+                .getResponseHeaders();
+        final var eTag = headers.getETag();
+
+        // Steps & Assertions
+        webTestClient.get()
+                .uri(COUNTRY_URL + 1)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectBody().isEmpty();
+
+        webTestClient.get()
+                .uri(COUNTRY_URL + 1)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-0\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("JP");
+
+    }
+
+    @Test
+    @DisplayName("findById: returns NOT_FOUND when country does not exist")
+    void findById_NotFound_ReturnsNotFound() {
+
+        // Steps
+        webTestClient.get()
+                .uri(COUNTRY_URL + MISSING_ID)
+                .exchange()
+
+                // Assertions
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo("404 NOT_FOUND")
+                .jsonPath("$.error.errors[0].reason").isEqualTo("Country with id = [%d] not found".formatted(MISSING_ID));
+
+    }
+
+    @Test
+    @DisplayName("update: updates country when request is valid")
+    void update_ValidRequest_UpdatesCountry() {
+
+        // Steps
+        webTestClient.patch()
+                .uri(COUNTRY_URL + 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                          "name": "Spain",
+                          "code": "SP"
+                        }""")
+                .exchange()
+
+                // Assertions
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.name").isEqualTo("Spain")
+                .jsonPath("$.code").isEqualTo("SP");
+
+    }
+
+    @Test
+    @DisplayName("update: keeps old values for fields missing in request")
+    void update_PartialRequest_KeepsOldValues() {
+
+        // Steps
+        webTestClient.patch()
+                .uri(COUNTRY_URL + 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                          "code": "JPN"
+                        }""")
+                .exchange()
+
+                // Assertions
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.name").isEqualTo("Japan")
+                .jsonPath("$.code").isEqualTo("JPN")
+                .jsonPath("$.date_created").isEqualTo("2024-12-12 12:12:12.534");
+
+    }
+
+    @Test
+    @DisplayName("update: returns NOT_FOUND when country does not exist")
+    void update_NotFound_ReturnsNotFound() {
+
+        // Steps
+        webTestClient.patch()
+                .uri(COUNTRY_URL + MISSING_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                          "name": "Spain",
+                          "code": "SP"
+                        }""")
+                .exchange()
+
+                // Assertions
+                .expectStatus().isNotFound()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("""
+                        {
+                        	"apiVersion": "1.0",
+                        	"error": {
+                        		"code": "404 NOT_FOUND",
+                        		"message": "Country not found",
+                        		"errors": [
+                        			{
+                        				"domain": "/api/v1/country/%d",
+                        				"reason": "Country with id = [%d] not found",
+                        				"message": "Country not found"
+                        			}
+                        		]
+                        	}
+                        }
+                        """.formatted(MISSING_ID, MISSING_ID));
+
+    }
+
+    @Test
+    @DisplayName("update: throws CONFLICT when country already exists")
+    void update_ExistingCountry_ThrowsConflict() {
+
+        // Steps
+        webTestClient.patch()
+                .uri(COUNTRY_URL + 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                          "name": "France",
+                          "code": "DE"
+                        }""")
+                .exchange()
+
+                // Assertions
+                .expectStatus().isEqualTo(409)
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("""
+                        {
+                        	"apiVersion": "1.0",
+                        	"error": {
+                        		"code": "409 CONFLICT",
+                        		"message": "Country already exists",
+                        		"errors": [
+                        			{
+                        				"domain": "/api/v1/country/1",
+                        				"reason": "Country already exists",
+                        				"message": "Country already exists"
+                        			}
+                        		]
+                        	}
+                        }
+                        """);
+
+    }
+
+    @Test
+    @DisplayName("update: return BAD_REQUEST when request is invalid")
+    void update_InvalidRequest_ThrowsBindException() {
+
+        // Steps
+        webTestClient.patch()
+                .uri(COUNTRY_URL + 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {
+                          "name": "Fe",
+                          "code": "D"
+                        }""")
+                .exchange()
+
+                // Assertions
+                .expectStatus().isBadRequest()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("""
+                        {
+                         	"apiVersion": "1.0",
+                         	"error": {
+                         		"code": "400 BAD_REQUEST",
+                         		"message": "Bad request. Multiple validation errors",
+                         		"errors": [
+                         			{
+                         				"domain": "/api/v1/country/1",
+                         				"reason": "Size",
+                         				"message": "invalid country code"
+                         			},
+                         			{
+                         				"domain": "/api/v1/country/1",
+                         				"reason": "Size",
+                         				"message": "invalid country name"
+                         			}
+                         		]
+                         	}
+                         }
+                        """);
+
+    }
+
+    @Test
+    @DisplayName("delete: returns NO_CONTENT when country is deleted")
+    void delete_ReturnsNoContent() {
+
+        // Steps
+        webTestClient.delete()
+                .uri(COUNTRY_URL + 1)
+                .exchange()
+
+                // Assertions
+                .expectStatus().isNoContent();
+
+    }
+
+    @Test
+    @DisplayName("delete: returns NOT_FOUND when country does not exist")
+    void delete_ReturnsNotFound() {
+
+        // Steps
+        webTestClient.delete()
+                .uri(COUNTRY_URL + MISSING_ID)
+                .exchange()
+
+                // Assertions
+                .expectStatus().isNotFound()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo("404 NOT_FOUND")
+                .jsonPath("$.error.message").isEqualTo("Country not found");
+
+    }
+
+}
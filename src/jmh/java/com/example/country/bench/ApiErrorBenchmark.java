@@ -0,0 +1,94 @@
+package com.example.country.bench;
+
+import com.example.country.data.controller.advice.BadRequestControllerAdvice;
+import com.example.country.data.controller.advice.CountryAlreadyExistsControllerAdvice;
+import com.example.country.data.controller.advice.CountryNotFoundControllerAdvice;
+import com.example.country.ex.CountryAlreadyExistsException;
+import com.example.country.ex.CountryNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MapBindingResult;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+// Error bodies built by the controller advices. The advices log at INFO, logback-jmh.xml keeps that quiet
+// so the numbers are the ApiError cost, not console output
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ApiErrorBenchmark {
+
+    private static final String API_VERSION = "1.0";
+
+    private BadRequestControllerAdvice badRequestAdvice;
+    private CountryNotFoundControllerAdvice notFoundAdvice;
+    private CountryAlreadyExistsControllerAdvice alreadyExistsAdvice;
+    private MockHttpServletRequest request;
+    private BindException bindException;
+    private CountryNotFoundException notFoundException;
+    private CountryAlreadyExistsException alreadyExistsException;
+
+    @Setup
+    public void setUp() {
+        badRequestAdvice = advice(new BadRequestControllerAdvice());
+        notFoundAdvice = advice(new CountryNotFoundControllerAdvice());
+        alreadyExistsAdvice = advice(new CountryAlreadyExistsControllerAdvice());
+        request = new MockHttpServletRequest("POST", "/api/v1/countries");
+
+        // Same errors as an invalid AddCountryRequestDTO
+        final var bindingResult = new MapBindingResult(new HashMap<>(), "addCountryRequestDTO");
+        bindingResult.addError(new FieldError("addCountryRequestDTO", "name", "Jp", false, new String[]{"Size"}, null, "invalid country name"));
+        bindingResult.addError(new FieldError("addCountryRequestDTO", "code", "J", false, new String[]{"Size"}, null, "invalid country code"));
+        bindException = new BindException(bindingResult);
+
+        notFoundException = new CountryNotFoundException("Country with id = [1] not found");
+        alreadyExistsException = new CountryAlreadyExistsException("Country already exists");
+    }
+
+    @Benchmark
+    public Object badRequest() {
+        return badRequestAdvice.handleBindException(bindException, request);
+    }
+
+    @Benchmark
+    public Object notFound() {
+        return notFoundAdvice.handleCountryNotFoundException(notFoundException, request);
+    }
+
+    @Benchmark
+    public Object alreadyExists() {
+        return alreadyExistsAdvice.handeCountryAlreadyExists(alreadyExistsException, request);
+    }
+
+    // Throwing is part of every error response, the stack trace is usually the biggest allocation
+    @Benchmark
+    public Object notFoundWithThrow() {
+        try {
+            throw new CountryNotFoundException("Country with id = [1] not found");
+        } catch (CountryNotFoundException ex) {
+            return notFoundAdvice.handleCountryNotFoundException(ex, request);
+        }
+    }
+
+    private static <T> T advice(T advice) {
+        ReflectionTestUtils.setField(advice, "apiVersion", API_VERSION);
+        return advice;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.example.country.bench;
+
+import com.example.country.CountryApplication;
+import com.example.country.seed.CountrySeed;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public final class BenchmarkContext {
+
+    public static final int SEED_SIZE = 10_000;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(CountryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:tc:postgresql:16:///country?TC_DAEMON=true",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn")
+                .properties(properties)
+                .run();
+    }
+
+    public static void seed(ConfigurableApplicationContext context) {
+        seed(context, SEED_SIZE);
+    }
+
+    public static void seed(ConfigurableApplicationContext context, int rows) {
+        CountrySeed.seed(context.getBean(JdbcTemplate.class), rows);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.example.country.bench;
+
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.entity.Country;
+import com.example.country.mapper.CountryMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// In-memory rows for the micro-benchmarks, shaped like the seeded table
+public final class BenchmarkData {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 12, 12, 12, 12, 12, 534_000_000);
+
+    private BenchmarkData() {
+    }
+
+    public static List<Country> countries(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> Country.builder()
+                        .id((long) i + 1)
+                        .name("Country-" + i)
+                        .code("C" + i % 100)
+                        .dateCreated(Timestamp.valueOf(CREATED.plusSeconds(i)))
+                        .dateUpdated(Timestamp.valueOf(CREATED.plusSeconds(i).plusNanos(100_000_000)))
+                        .build())
+                .toList();
+    }
+
+    public static List<CountryResponseDTO> dtos(int size) {
+        return countries(size).stream().map(CountryMapper::toDTO).toList();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.example.country.bench;
+
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.entity.Country;
+import com.example.country.mapper.CountryMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO and page to response mapping, gc.alloc.rate.norm is the bytes one page costs
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CountryMappingBenchmark {
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    private Country country;
+    private List<Country> countries;
+    private Page<CountryResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        countries = BenchmarkData.countries(pageSize);
+        country = countries.getFirst();
+        page = new PageImpl<>(BenchmarkData.dtos(pageSize), PageRequest.of(0, pageSize, Sort.by("id")), 10_000);
+    }
+
+    @Benchmark
+    public Object toDTO() {
+        return CountryMapper.toDTO(country);
+    }
+
+    @Benchmark
+    public Object toPage() {
+        return CountryMapper.toPage(page);
+    }
+
+    // The entity read path: every row is mapped before the page is
+    @Benchmark
+    public Object entitiesToPage() {
+        return CountryMapper.toPage(new PageImpl<>(
+                countries.stream().map(CountryMapper::toDTO).toList(),
+                page.getPageable(),
+                page.getTotalElements()));
+    }
+
+}
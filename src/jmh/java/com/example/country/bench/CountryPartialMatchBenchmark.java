@@ -0,0 +1,85 @@
+package com.example.country.bench;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.repository.CountryRepository;
+import com.example.country.search.CountryTextIndex;
+import com.example.country.specs.CountrySpecs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+// SQL LIKE over the pg_trgm indexes versus the in-process trigram index plus a lookup by id.
+// The 10M case needs a few minutes to seed and several GB of heap for the index.
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CountryPartialMatchBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    int rows;
+
+    // About 1k and 11k matches at 10M rows, the broader one still fits in one IN list
+    @Param({"y-4242", "ry-999"})
+    String name;
+
+    private ConfigurableApplicationContext context;
+    private CountryRepository countryRepository;
+    private CountrySpecs countrySpecs;
+    private CountryTextIndex countryTextIndex;
+    private CountryFilter filter;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "app.search.trigram.enabled=true",
+                "app.search.trigram.max-matches=" + Integer.MAX_VALUE);
+        BenchmarkContext.seed(context, rows);
+        countryRepository = context.getBean(CountryRepository.class);
+        countrySpecs = context.getBean(CountrySpecs.class);
+        countryTextIndex = context.getBean(CountryTextIndex.class);
+        countryTextIndex.rebuild();
+        filter = new CountryFilter(name, null);
+        pageable = PageRequest.of(0, 20, Sort.by("id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object sqlLike() {
+        return countryRepository.findSliceProjected(countrySpecs.findByCriteria(filter), pageable);
+    }
+
+    @Benchmark
+    public Object indexLookup() {
+        return countryTextIndex.match(filter).orElseThrow();
+    }
+
+    @Benchmark
+    public Object indexThenFetchById() {
+        return countryRepository.findSliceProjected(countrySpecs.findByIds(countryTextIndex.match(filter).orElseThrow()), pageable);
+    }
+
+}
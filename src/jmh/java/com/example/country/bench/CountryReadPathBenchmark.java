@@ -0,0 +1,70 @@
+package com.example.country.bench;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.mapper.CountryMapper;
+import com.example.country.service.CountryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+// Compare gc.alloc.rate.norm (bytes per page) between entity hydration and the DTO projection
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CountryReadPathBenchmark {
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    @Param({"", "ry-1"})
+    String name;
+
+    private ConfigurableApplicationContext context;
+    private CountryService countryService;
+    private CountryFilter filter;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context);
+        countryService = context.getBean(CountryService.class);
+        filter = new CountryFilter(name, null);
+        pageable = PageRequest.of(0, pageSize, Sort.by("id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object entityPage() {
+        return CountryMapper.toPage(countryService.findAll(filter, pageable).map(CountryMapper::toDTO));
+    }
+
+    @Benchmark
+    public Object projectedPage() {
+        return CountryMapper.toPage(countryService.findAllProjected(filter, pageable));
+    }
+
+}
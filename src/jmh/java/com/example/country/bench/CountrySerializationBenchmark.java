@@ -0,0 +1,74 @@
+package com.example.country.bench;
+
+import com.example.country.config.JacksonFormatterConfig;
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.jackson.serializer.CustomLocalDateTimeSerializer;
+import com.example.country.mapper.CountryMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// The response body as the controllers write it, with the ObjectMapper bean from JacksonFormatterConfig
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CountrySerializationBenchmark {
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    private ObjectMapper objectMapper;
+    private LocalDateTime dateTime;
+    private CountryResponseDTO country;
+    private PageResponseDTO page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonFormatterConfig().objectMapper();
+        final var countries = BenchmarkData.dtos(pageSize);
+        country = countries.getFirst();
+        dateTime = country.dateCreated();
+        page = CountryMapper.toPage(new PageImpl<>(countries, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    // Formatting alone, without the generator around it
+    @Benchmark
+    public String formatDateTime() {
+        return CustomLocalDateTimeSerializer.FORMATTER.format(dateTime);
+    }
+
+    @Benchmark
+    public byte[] writeDateTime() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dateTime);
+    }
+
+    @Benchmark
+    public byte[] writeCountry() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(country);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.example.country.bench;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.entity.Country;
+import com.example.country.specs.CountrySpecs;
+import com.example.country.specs.filters.PartialTextSpec;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Criteria predicate building for one list request. Hibernate boots from the entity alone:
+// the dialect is fixed and JDBC metadata access is off, so no datasource or container is needed
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CountrySpecsBenchmark {
+
+    @Param({"none", "name", "name-and-code"})
+    String filterKind;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder builder;
+    private CountrySpecs countrySpecs;
+    private CountryFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Country.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        builder = sessionFactory.getCriteriaBuilder();
+        countrySpecs = new CountrySpecs(new PartialTextSpec());
+        filter = switch (filterKind) {
+            case "name" -> new CountryFilter("ry-1", null);
+            case "name-and-code" -> new CountryFilter("ry-1", "c_%");
+            default -> new CountryFilter(null, null);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Object findByCriteria() {
+        final var query = builder.createQuery(Country.class);
+        final var root = query.from(Country.class);
+        return countrySpecs.findByCriteria(filter).toPredicate(root, query, builder);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.example.country.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+// One per endpoint, shared by every client thread. Response time runs from the moment a request was due,
+// service time from the moment it was sent: with an open-loop driver the gap between the two is exactly
+// the queueing a closed-loop client would hide (coordinated omission). Requests shed by the server's concurrency
+// limit are counted on their own and kept out of the histograms, a fast 503 is not a fast answer
+final class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    // Auto-resizing, so a stalled request is recorded however long it took
+    private final Histogram responseTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Closed loop: the request is sent when it is due, so both times are the same
+    void record(long latencyNanos, boolean success) {
+        record(latencyNanos, latencyNanos, success);
+    }
+
+    void record(long responseNanos, long serviceNanos, boolean success) {
+        responseTime.recordValue(Math.max(0, responseNanos));
+        serviceTime.recordValue(Math.max(0, serviceNanos));
+        if (!success)
+            errors.increment();
+    }
+
+    void reject() {
+        rejected.increment();
+    }
+
+    Summary summarize(double seconds) {
+        return new Summary(
+                responseTime.getTotalCount(),
+                errors.sum(),
+                rejected.sum(),
+                responseTime.getTotalCount() / seconds,
+                millis(responseTime, 50),
+                millis(responseTime, 90),
+                millis(responseTime, 99),
+                millis(responseTime, 99.9),
+                responseTime.getMaxValue() / NANOS_PER_MILLI,
+                millis(serviceTime, 99),
+                millis(serviceTime, 99.9));
+    }
+
+    // HdrHistogram percentile distribution in milliseconds, readable by the HdrHistogram plotter
+    void writePercentiles(Path file) throws IOException {
+        try (var out = new PrintStream(Files.newOutputStream(file))) {
+            responseTime.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        if (histogram.getTotalCount() == 0)
+            return Double.NaN;
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    record Summary(
+
+            long requests,
+
+            long errors,
+
+            long rejected,
+
+            double throughput,
+
+            double p50Millis,
+
+            double p90Millis,
+
+            double p99Millis,
+
+            double p999Millis,
+
+            double maxMillis,
+
+            double serviceP99Millis,
+
+            double serviceP999Millis
+
+    ) {
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.country.load;
+
+import com.example.country.CountryApplication;
+import com.example.country.seed.CountrySeed;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public final class LoadTestContext {
+
+    private LoadTestContext() {
+    }
+
+    // A fresh container per run, so both thread modes start from the same data and cold caches
+    public static ConfigurableApplicationContext start(boolean virtualThreads, String... properties) {
+        return new SpringApplicationBuilder(CountryApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:tc:postgresql:16:///country?TC_DAEMON=true",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        // Every list request should reach the database
+                        "app.cache.page.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn")
+                .properties(properties)
+                .run();
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public static long[] seed(ConfigurableApplicationContext context, int rows) {
+        return CountrySeed.seed(context.getBean(JdbcTemplate.class), rows);
+    }
+
+}
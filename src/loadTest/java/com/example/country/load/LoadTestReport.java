@@ -0,0 +1,56 @@
+package com.example.country.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// summary.json and summary.csv for scripts and CI, one <endpoint>.hgrm percentile distribution per endpoint
+final class LoadTestReport {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTestReport() {
+    }
+
+    static void write(Path directory,
+                      Map<String, Object> settings,
+                      Map<String, LatencyRecorder.Summary> summaries,
+                      Map<String, LatencyRecorder> recorders) throws IOException {
+
+        Files.createDirectories(directory);
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("settings", settings);
+        report.put("endpoints", summaries);
+        OBJECT_MAPPER.writeValue(directory.resolve("summary.json").toFile(), report);
+
+        final var csv = new StringBuilder("endpoint,requests,errors,rejected,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,service_p99_ms,service_p999_ms\n");
+        summaries.forEach((endpoint, summary) -> csv.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                endpoint,
+                summary.requests(),
+                summary.errors(),
+                summary.rejected(),
+                summary.throughput(),
+                summary.p50Millis(),
+                summary.p90Millis(),
+                summary.p99Millis(),
+                summary.p999Millis(),
+                summary.maxMillis(),
+                summary.serviceP99Millis(),
+                summary.serviceP999Millis())));
+        Files.writeString(directory.resolve("summary.csv"), csv);
+
+        for (var entry : recorders.entrySet())
+            entry.getValue().writePercentiles(directory.resolve(entry.getKey() + ".hgrm"));
+
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.example.country.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop load: requests are due at a fixed arrival rate whatever the server does, and each one is timed
+// from the moment it was due rather than the moment it was sent. A slow response therefore shows up in the
+// latency of every request queued behind it instead of silently lowering the request rate
+public final class MixedWorkloadLoadTest {
+
+    private static final int ROWS = Integer.getInteger("load.rows", 10_000);
+    private static final int RATE = Integer.getInteger("load.rate", 500);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 2_000);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("load.virtual");
+    private static final String MIX = System.getProperty("load.mix", "list:40,get:40,create:10,patch:5,delete:5");
+    private static final Path OUTPUT = Path.of(System.getProperty("load.output", "build/load-results"));
+    private static final int PAGE_SIZE = 20;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    // Creates use Hangul codes, which never collide with the CJK codes of the seeded rows
+    private static final char CODE_BASE = '\uAC00';
+    private static final int CODE_RADIX = 11_172;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private MixedWorkloadLoadTest() {
+    }
+
+    enum Operation {
+        LIST, GET, CREATE, PATCH, DELETE;
+
+        String endpoint() {
+            return name().toLowerCase();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        final var mix = parseMix(MIX);
+        System.out.printf("rows: %d, rate: %d req/s, mix: %s, threads: %s, warmup: %s, duration: %s%n",
+                ROWS, RATE, mix, VIRTUAL_THREADS ? "virtual" : "platform", WARMUP, DURATION);
+
+        try (var context = LoadTestContext.start(VIRTUAL_THREADS)) {
+            final var ids = LoadTestContext.seed(context, ROWS);
+            final var workload = new Workload(URI.create("http://localhost:" + LoadTestContext.port(context)), ids, mix);
+            run(workload, WARMUP);
+            final var recorders = run(workload, DURATION);
+
+            final var seconds = DURATION.toNanos() / 1e9;
+            final var summaries = new LinkedHashMap<String, LatencyRecorder.Summary>();
+            recorders.forEach((operation, recorder) -> summaries.put(operation.endpoint(), recorder.summarize(seconds)));
+            print(summaries);
+
+            final var settings = new LinkedHashMap<String, Object>();
+            settings.put("rows", ROWS);
+            settings.put("rate", RATE);
+            settings.put("mix", MIX);
+            settings.put("threads", VIRTUAL_THREADS ? "virtual" : "platform");
+            settings.put("warmup", WARMUP.toString());
+            settings.put("duration", DURATION.toString());
+            final var histograms = new LinkedHashMap<String, LatencyRecorder>();
+            recorders.forEach((operation, recorder) -> histograms.put(operation.endpoint(), recorder));
+            LoadTestReport.write(OUTPUT, settings, summaries, histograms);
+            System.out.printf("results: %s%n", OUTPUT.toAbsolutePath());
+        }
+
+    }
+
+    // One dispatcher thread releases request i at start + i / rate and hands it to a virtual thread. When
+    // MAX_IN_FLIGHT requests are outstanding the dispatcher waits, but the request keeps its original due time
+    private static Map<Operation, LatencyRecorder> run(Workload workload, Duration duration) {
+
+        final var recorders = new EnumMap<Operation, LatencyRecorder>(Operation.class);
+        workload.mix.keySet().forEach(operation -> recorders.put(operation, new LatencyRecorder()));
+        final var random = new Random(42);
+        final var inFlight = new Semaphore(MAX_IN_FLIGHT);
+        final var intervalNanos = 1e9 / RATE;
+        final var total = (long) (duration.toNanos() / intervalNanos);
+        final var start = System.nanoTime();
+
+        try (var http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             var requests = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (long i = 0; i < total; i++) {
+                final long due = start + (long) (i * intervalNanos);
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime())
+                    LockSupport.parkNanos(wait);
+                inFlight.acquireUninterruptibly();
+
+                final var operation = workload.pick(random);
+                final var request = workload.request(operation, random);
+                final var recorder = recorders.get(operation);
+                requests.submit(() -> {
+                    try {
+                        final var sent = System.nanoTime();
+                        boolean success;
+                        try {
+                            final var response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() == SERVICE_UNAVAILABLE) {
+                                recorder.reject();
+                                return null;
+                            }
+                            success = response.statusCode() / 100 == 2;
+                            if (success && operation == Operation.CREATE)
+                                workload.created.add(OBJECT_MAPPER.readTree(response.body()).get("id").asLong());
+                        } catch (Exception ex) {
+                            success = false;
+                        }
+                        final var end = System.nanoTime();
+                        recorder.record(end - due, end - sent, success);
+                    } finally {
+                        inFlight.release();
+                    }
+                    return null;
+                });
+            }
+        }
+
+        return recorders;
+
+    }
+
+    private static void print(Map<String, LatencyRecorder.Summary> summaries) {
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s %14s %8s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "service p99 ms", "errors", "rejected");
+        summaries.forEach((endpoint, summary) -> System.out.printf("%-8s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %14.2f %8d %8d%n",
+                endpoint,
+                summary.requests(),
+                summary.throughput(),
+                summary.p50Millis(),
+                summary.p99Millis(),
+                summary.p999Millis(),
+                summary.maxMillis(),
+                summary.serviceP99Millis(),
+                summary.errors(),
+                summary.rejected()));
+    }
+
+    // "list:40,get:40,create:10,patch:5,delete:5", weights are relative and need not add up to 100
+    private static Map<Operation, Integer> parseMix(String mix) {
+        final var result = new EnumMap<Operation, Integer>(Operation.class);
+        for (String entry : mix.split(",")) {
+            final var parts = entry.trim().split(":");
+            if (parts.length != 2)
+                throw new IllegalArgumentException("Invalid load.mix entry: [%s]".formatted(entry));
+            final var weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0)
+                result.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (result.isEmpty())
+            throw new IllegalArgumentException("load.mix has no operation with a positive weight");
+        return result;
+    }
+
+    private static final class Workload {
+
+        private final URI base;
+        private final long[] seededIds;
+        private final Map<Operation, Integer> mix;
+        private final List<Operation> wheel = new ArrayList<>();
+        private final AtomicLong sequence = new AtomicLong();
+
+        // Deletes only take rows created during the run, so reads and patches always find their seeded ids.
+        // With the default mix creates outnumber deletes and the queue is never empty after the warmup
+        private final ConcurrentLinkedQueue<Long> created = new ConcurrentLinkedQueue<>();
+
+        private Workload(URI base, long[] seededIds, Map<Operation, Integer> mix) {
+            this.base = base;
+            this.seededIds = seededIds;
+            this.mix = mix;
+            mix.forEach((operation, weight) -> {
+                for (int i = 0; i < weight; i++)
+                    wheel.add(operation);
+            });
+        }
+
+        private Operation pick(Random random) {
+            return wheel.get(random.nextInt(wheel.size()));
+        }
+
+        private HttpRequest request(Operation operation, Random random) {
+            return switch (operation) {
+                case LIST -> HttpRequest.newBuilder(base.resolve("/api/v1/countries?size=%d&name=ry-%d"
+                                .formatted(PAGE_SIZE, 1 + random.nextInt(999))))
+                        .GET()
+                        .build();
+                case GET -> HttpRequest.newBuilder(seeded(random))
+                        .GET()
+                        .build();
+                case CREATE -> {
+                    final var n = sequence.incrementAndGet();
+                    yield json(HttpRequest.newBuilder(base.resolve("/api/v1/countries")),
+                            "POST", "{\"name\":\"Load-%d\",\"code\":\"%s\"}".formatted(n, code(n)));
+                }
+                case PATCH -> json(HttpRequest.newBuilder(seeded(random)),
+                        "PATCH", "{\"name\":\"Patched-%d\"}".formatted(sequence.incrementAndGet()));
+                case DELETE -> {
+                    final var id = created.poll();
+                    yield HttpRequest.newBuilder(base.resolve("/api/v1/country/" + (id == null ? 0 : id)))
+                            .DELETE()
+                            .build();
+                }
+            };
+        }
+
+        // Sampled from the stored ids, which come from the column default and need not be 1..rows
+        private URI seeded(Random random) {
+            return base.resolve("/api/v1/country/" + seededIds[random.nextInt(seededIds.length)]);
+        }
+
+        private static HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+            return builder
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private static String code(long n) {
+            return new String(new char[]{
+                    (char) (CODE_BASE + n / CODE_RADIX / CODE_RADIX % CODE_RADIX),
+                    (char) (CODE_BASE + n / CODE_RADIX % CODE_RADIX),
+                    (char) (CODE_BASE + n % CODE_RADIX)});
+        }
+
+    }
+
+}
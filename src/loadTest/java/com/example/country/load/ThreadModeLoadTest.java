@@ -0,0 +1,117 @@
+package com.example.country.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+// Closed-loop load against the existing read endpoints, once with platform and once with virtual request threads.
+// Same seed data, client count and per-client random sequence for both modes, so runs are comparable
+public final class ThreadModeLoadTest {
+
+    private static final int ROWS = Integer.getInteger("load.rows", 10_000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final int PAGE_SIZE = 20;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private static final Map<String, Endpoint> ENDPOINTS = new LinkedHashMap<>();
+
+    static {
+        // Ids are sampled from the seeded rows, so every by-id request hits an existing country
+        ENDPOINTS.put("by-id", (base, ids, random) ->
+                base.resolve("/api/v1/country/" + ids[random.nextInt(ids.length)]));
+        ENDPOINTS.put("filtered", (base, ids, random) ->
+                base.resolve("/api/v1/countries?size=%d&name=ry-%d".formatted(PAGE_SIZE, 1 + random.nextInt(999))));
+        ENDPOINTS.put("page", (base, ids, random) ->
+                base.resolve("/api/v1/countries?size=%d&total=none&page=%d".formatted(PAGE_SIZE, random.nextInt(ROWS / PAGE_SIZE))));
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        URI uri(URI base, long[] ids, Random random);
+    }
+
+    private ThreadModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+
+        System.out.printf("rows: %d, clients: %d, warmup: %s, duration: %s%n", ROWS, CONCURRENCY, WARMUP, DURATION);
+        System.out.printf("%-9s %-9s %10s %10s %10s %10s %10s %8s %8s%n",
+                "threads", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors", "rejected");
+
+        for (boolean virtualThreads : List.of(false, true)) {
+            try (var context = LoadTestContext.start(virtualThreads)) {
+                final var ids = LoadTestContext.seed(context, ROWS);
+                final var base = URI.create("http://localhost:" + LoadTestContext.port(context));
+                run(base, ids, WARMUP);
+                final var results = run(base, ids, DURATION);
+                results.forEach((endpoint, summary) -> System.out.printf("%-9s %-9s %10d %10.1f %10.2f %10.2f %10.2f %8d %8d%n",
+                        virtualThreads ? "virtual" : "platform",
+                        endpoint,
+                        summary.requests(),
+                        summary.throughput(),
+                        summary.p50Millis(),
+                        summary.p99Millis(),
+                        summary.p999Millis(),
+                        summary.errors(),
+                        summary.rejected()));
+            }
+        }
+
+    }
+
+    // Each client sends its next request as soon as the previous one completes, so this compares the two modes
+    // at equal concurrency; MixedWorkloadLoadTest is the open-loop, arrival-rate measurement. Only virtual mode runs the
+    // concurrency limit, so its 503s are reported as rejected and kept out of the latency and throughput columns
+    private static Map<String, LatencyRecorder.Summary> run(URI base, long[] ids, Duration duration) throws InterruptedException {
+
+        final var recorders = new LinkedHashMap<String, LatencyRecorder>();
+        ENDPOINTS.keySet().forEach(endpoint -> recorders.put(endpoint, new LatencyRecorder()));
+        final var deadline = System.nanoTime() + duration.toNanos();
+
+        // Closing the executor waits for every client to reach the deadline, the HTTP client is closed after that
+        try (var http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (int client = 0; client < CONCURRENCY; client++) {
+                final var random = new Random(client);
+                final var endpoints = List.copyOf(ENDPOINTS.entrySet());
+                clients.submit(() -> {
+                    for (int i = 0; System.nanoTime() < deadline; i++) {
+                        final var endpoint = endpoints.get(i % endpoints.size());
+                        final var request = HttpRequest.newBuilder(endpoint.getValue().uri(base, ids, random)).GET().build();
+                        final var recorder = recorders.get(endpoint.getKey());
+                        final var start = System.nanoTime();
+                        int statusCode;
+                        try {
+                            statusCode = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception ex) {
+                            statusCode = 0;
+                        }
+                        if (statusCode == SERVICE_UNAVAILABLE)
+                            recorder.reject();
+                        else
+                            recorder.record(System.nanoTime() - start, statusCode / 100 == 2);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        final var seconds = duration.toNanos() / 1e9;
+        final var summaries = new LinkedHashMap<String, LatencyRecorder.Summary>();
+        recorders.forEach((endpoint, recorder) -> summaries.put(endpoint, recorder.summarize(seconds)));
+        return summaries;
+
+    }
+
+}
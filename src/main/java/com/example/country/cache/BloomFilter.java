@@ -0,0 +1,78 @@
+package com.example.country.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size Bloom filter of strings, safe for concurrent puts and lookups. Values can't be removed
+final class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long SECOND_SEED = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+
+    BloomFilter(long capacity, double fpp) {
+        final var ln2 = Math.log(2);
+        final var bits = Math.max(Long.SIZE, (long) Math.ceil(-capacity * Math.log(fpp) / (ln2 * ln2)));
+        this.words = new AtomicLongArray(Math.toIntExact((bits + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = (long) words.length() * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+        this.capacity = capacity;
+    }
+
+    void put(String value) {
+        final long h1 = hash(value, FNV_OFFSET);
+        final long h2 = hash(value, SECOND_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bitCount);
+            final long mask = 1L << bit;
+            words.accumulateAndGet((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+    }
+
+    boolean mightContain(String value) {
+        final long h1 = hash(value, FNV_OFFSET);
+        final long h2 = hash(value, SECOND_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    // Estimated from the share of set bits, so it also reflects entries that were deleted since the build
+    double expectedFpp() {
+        long setBits = 0;
+        for (int i = 0; i < words.length(); i++)
+            setBits += Long.bitCount(words.get(i));
+        return Math.pow((double) setBits / bitCount, hashCount);
+    }
+
+    long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    // FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer to spread the low bits
+    private static long hash(String value, long seed) {
+        long hash = seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
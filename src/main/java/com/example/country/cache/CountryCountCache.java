@@ -0,0 +1,37 @@
+package com.example.country.cache;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.event.CountryChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.ToLongFunction;
+
+// Counts are exact when loaded, but writes from other instances are only picked up after ttl
+@Component
+public class CountryCountCache {
+
+    private final Cache<CountryFilter, Long> counts;
+
+    public CountryCountCache(@Value("${app.cache.count.max-size:1000}") long maxSize,
+                             @Value("${app.cache.count.ttl:30s}") Duration ttl) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public long get(CountryFilter countryFilter, ToLongFunction<CountryFilter> loader) {
+        return counts.get(countryFilter, loader::applyAsLong);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountryChanged(CountryChangedEvent event) {
+        counts.invalidateAll();
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.example.country.cache;
+
+import com.example.country.data.entity.Country;
+import com.example.country.event.CountryChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Writes run as native or JDBC statements that Hibernate doesn't track, so changed ids are evicted from the second-level cache here
+@Component
+@RequiredArgsConstructor
+public class CountryEntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountryChanged(CountryChangedEvent event) {
+        final var cache = entityManagerFactory.getCache();
+        switch (event.type()) {
+            // New rows can't be cached yet
+            case CREATED, IMPORTED -> {
+            }
+            case UPDATED, DELETED -> event.countries()
+                    .forEach(country -> cache.evict(Country.class, country.getId()));
+        }
+    }
+
+}
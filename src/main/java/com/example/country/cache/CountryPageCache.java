@@ -0,0 +1,96 @@
+package com.example.country.cache;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
+import com.example.country.event.CountryChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Finished list responses keyed by the generation and catalog version they were read in. A local write bumps
+// the generation after commit, any write bumps the catalog version, so older entries are never looked up again
+// and age out by size
+@Component
+public class CountryPageCache {
+
+    private static final String CACHE_NAME = "country.page";
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<Key, PageResponseDTO> pages;
+    private final boolean enabled;
+
+    public CountryPageCache(MeterRegistry meterRegistry,
+                            @Value("${app.cache.page.enabled:false}") boolean enabled,
+                            @Value("${app.cache.page.max-size:1000}") long maxSize,
+                            @Value("${app.cache.page.ttl:30s}") Duration ttl) {
+        this.enabled = enabled;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", pages, cache -> cache.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Share of list requests answered from the cache")
+                .register(meterRegistry);
+    }
+
+    public PageResponseDTO get(long catalogVersion,
+                               CountryFilter filter,
+                               TotalKind total,
+                               Pageable pageable,
+                               Supplier<PageResponseDTO> loader) {
+        if (!enabled)
+            return loader.get();
+        // The generation is read before the load, so a page read while a write commits is stored under the old one
+        final var key = new Key(
+                generation.get(),
+                catalogVersion,
+                filter,
+                total,
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                pageable.getSort());
+        return pages.get(key, ignored -> loader.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountryChanged(CountryChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private record Key(
+
+            long generation,
+
+            long catalogVersion,
+
+            CountryFilter filter,
+
+            TotalKind total,
+
+            int page,
+
+            int size,
+
+            Sort sort
+
+    ) {
+    }
+
+}
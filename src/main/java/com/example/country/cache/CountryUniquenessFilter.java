@@ -0,0 +1,191 @@
+package com.example.country.cache;
+
+import com.example.country.data.entity.Country;
+import com.example.country.event.CountryChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Definite "no such name or code" answers without a query, for the batch-create and bulk-update conflict checks.
+// A miss caused by a write from another instance is still caught by the unique indexes, so a stale filter costs
+// a 409 from the database, never a duplicate
+@Slf4j
+@Component
+public class CountryUniquenessFilter implements SmartLifecycle {
+
+    private static final String SELECT_ALL = """
+            SELECT name, code
+            FROM app.country""";
+
+    // A name key and a code key, capacity and added are counted in entries
+    private static final int ENTRIES_PER_COUNTRY = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double fpp;
+    private final int fetchSize;
+    private final Counter negatives;
+
+    // Not synchronized: the rebuild blocks on JDBC and would pin a virtual thread to its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile BloomFilter filter;
+    private long added;
+
+    public CountryUniquenessFilter(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.cache.uniqueness.enabled:false}") boolean enabled,
+                                   @Value("${app.cache.uniqueness.expected-insertions:100000}") long expectedInsertions,
+                                   @Value("${app.cache.uniqueness.fpp:0.01}") double fpp,
+                                   @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Count and rows from one snapshot, in a transaction so the load streams through a cursor. A new one,
+        // because imports rebuild from afterCommit where the finished transaction is still bound. Read-only:
+        // a lagging replica only costs a 409 from the unique indexes like any other stale entry
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.fetchSize = fetchSize;
+
+        Gauge.builder("country.uniqueness.filter.fpp", this, CountryUniquenessFilter::expectedFpp)
+                .description("Estimated false-positive rate of the name/code Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("country.uniqueness.filter.size", this, CountryUniquenessFilter::sizeInBytes)
+                .description("Memory held by the name/code Bloom filter")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        this.negatives = Counter.builder("country.uniqueness.filter.negatives")
+                .description("Uniqueness checks answered by the Bloom filter without a query")
+                .register(meterRegistry);
+    }
+
+    // False only when none of the names or codes is stored, true when the database has to be asked
+    public boolean mightExist(Collection<String> names, Collection<String> codes) {
+        final var current = filter;
+        if (current == null)
+            return true;
+        final var mightExist = names.stream().filter(Objects::nonNull).anyMatch(name -> current.mightContain(nameKey(name)))
+                || codes.stream().filter(Objects::nonNull).anyMatch(code -> current.mightContain(codeKey(code)));
+        if (!mightExist)
+            negatives.increment();
+        return mightExist;
+    }
+
+    public boolean mightExist(String name, String code) {
+        return mightExist(
+                name == null ? List.of() : List.of(name),
+                code == null ? List.of() : List.of(code));
+    }
+
+    public void rebuild() {
+        lock.lock();
+        try {
+            final var rebuilt = Objects.requireNonNull(transactionTemplate.execute(status -> {
+                final var count = Objects.requireNonNull(jdbcTemplate.queryForObject("SELECT count(*) FROM app.country", Long.class));
+                // Twice the current entries, so the table can double before the next rebuild
+                final var loaded = new BloomFilter(Math.max(expectedInsertions, count * ENTRIES_PER_COUNTRY * 2), fpp);
+                jdbcTemplate.query(
+                        connection -> {
+                            final var statement = connection.prepareStatement(SELECT_ALL);
+                            statement.setFetchSize(fetchSize);
+                            return statement;
+                        },
+                        rs -> {
+                            loaded.put(nameKey(rs.getString("name")));
+                            loaded.put(codeKey(rs.getString("code")));
+                        });
+                added = count * ENTRIES_PER_COUNTRY;
+                return loaded;
+            }));
+            filter = rebuilt;
+            log.debug("Country uniqueness filter rebuilt, entries: {}, size: {} bytes", added, rebuilt.sizeInBytes());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Deleted values stay in the filter and only cost extra queries, which the fpp gauge shows
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountryChanged(CountryChangedEvent event) {
+        lock.lock();
+        try {
+            if (filter == null)
+                return;
+            switch (event.type()) {
+                case IMPORTED -> rebuild();
+                case CREATED, UPDATED -> {
+                    for (Country country : event.countries()) {
+                        filter.put(nameKey(country.getName()));
+                        filter.put(codeKey(country.getCode()));
+                    }
+                    added += (long) event.countries().size() * ENTRIES_PER_COUNTRY;
+                    if (added > filter.capacity())
+                        rebuild();
+                }
+                case DELETED -> {
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (enabled)
+            rebuild();
+    }
+
+    @Override
+    public void stop() {
+        filter = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return filter != null;
+    }
+
+    private double expectedFpp() {
+        final var current = filter;
+        return current == null ? Double.NaN : current.expectedFpp();
+    }
+
+    private double sizeInBytes() {
+        final var current = filter;
+        return current == null ? 0 : current.sizeInBytes();
+    }
+
+    // Names and codes share one filter, the prefix keeps a name from answering for an equal code
+    private static String nameKey(String name) {
+        return "n:" + name.toLowerCase(Locale.ROOT);
+    }
+
+    private static String codeKey(String code) {
+        return "c:" + code.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.example.country.catalog;
+
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.entity.Country;
+import com.example.country.event.CountryChangedEvent;
+import com.example.country.mapper.CountryMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Keeps the whole table in memory. Local writes are applied from their event, other instances' writes are picked up
+// by reloading on NOTIFY from V5__country_changed_notify.sql
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.catalog", name = "engine", havingValue = "snapshot")
+public class CountryCatalog implements SmartLifecycle {
+
+    static final String CHANNEL = "country_changed";
+
+    private static final String SELECT_ALL = """
+            SELECT id, name, code, date_created, date_updated
+            FROM app.country""";
+
+    private static final String SELECT_VERSION = """
+            SELECT version
+            FROM app.country_catalog_version""";
+
+    private final AtomicReference<CountryCatalogSnapshot> snapshot = new AtomicReference<>(CountryCatalogSnapshot.EMPTY);
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reloadTransaction;
+    private final DataSourceProperties dataSourceProperties;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public CountryCatalog(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          DataSourceProperties dataSourceProperties,
+                          @Value("${app.catalog.poll-timeout:5s}") Duration pollTimeout,
+                          @Value("${app.catalog.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Version and rows from one snapshot of the database. A new transaction, because local writes reload
+        // from afterCommit where the finished one is still bound. Not read-only, so it stays on the primary
+        this.reloadTransaction = new TransactionTemplate(transactionManager);
+        this.reloadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reloadTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public CountryCatalogSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    public void reload() {
+        final var loaded = Objects.requireNonNull(reloadTransaction.execute(status -> new CountryCatalogSnapshot(
+                Objects.requireNonNull(jdbcTemplate.queryForObject(SELECT_VERSION, Long.class)),
+                jdbcTemplate.query(SELECT_ALL, (rs, rowNum) -> new CountryResponseDTO(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("code"),
+                        rs.getTimestamp("date_created"),
+                        rs.getTimestamp("date_updated"))))));
+        // The request thread and the listener may reload concurrently, a slower older load never replaces a newer one
+        final var current = snapshot.accumulateAndGet(loaded, (previous, next) -> next.version() > previous.version() ? next : previous);
+        log.debug("Country catalog reloaded, version: {}, size: {}", current.version(), current.size());
+    }
+
+    // Applied right away so the writer reads its own change without waiting for the notification. Each writing
+    // transaction bumps the version by one: a gap of exactly one is this write, anything else means another
+    // transaction committed in between and the NOTIFY reload that follows it takes over
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountryChanged(CountryChangedEvent event) {
+
+        if (event.type() == CountryChangedEvent.ChangeType.IMPORTED) {
+            reloadIfChanged();
+            return;
+        }
+
+        final var latest = readVersion();
+        final var changed = event.countries().stream().map(CountryMapper::toDTO).toList();
+        final var ids = event.countries().stream().map(Country::getId).toList();
+        final var current = snapshot.updateAndGet(previous -> {
+            if (latest != previous.version() + 1)
+                return previous;
+            return event.type() == CountryChangedEvent.ChangeType.DELETED
+                    ? previous.withChanges(latest, List.of(), ids)
+                    : previous.withChanges(latest, changed, List.of());
+        });
+        log.debug("Country catalog {} applied, version: {}, size: {}", event.type(), current.version(), current.size());
+
+    }
+
+    // One row lookup instead of a full reload when the change is already loaded, e.g. the NOTIFY of a local write
+    private void reloadIfChanged() {
+        if (readVersion() > snapshot.get().version())
+            reload();
+    }
+
+    private long readVersion() {
+        return Objects.requireNonNull(reloadTransaction.execute(status -> jdbcTemplate.queryForObject(SELECT_VERSION, Long.class)));
+    }
+
+    @Override
+    public void start() {
+        reload();
+        running = true;
+        listener = Thread.ofPlatform()
+                .name("country-catalog-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null)
+            listener.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            // LISTEN must run on the primary: notifications are not replicated to standbys
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Anything committed while we were disconnected
+                reload();
+
+                final var pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    final var notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    // All pending notifications are folded into one reload
+                    if (notifications != null && notifications.length > 0)
+                        reloadIfChanged();
+                }
+
+            } catch (SQLException | RuntimeException ex) {
+                if (!running)
+                    return;
+                log.warn("Country catalog listener failed, reconnecting in {}", reconnectDelay, ex);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.example.country.catalog;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Immutable view of app.country, safe to share between threads. Kept pre-sorted by every sortable property, so a
+// single-property sort costs no sorting per request; local writes derive a new snapshot instead of a reload
+public final class CountryCatalogSnapshot {
+
+    private static final Comparator<CountryResponseDTO> BY_ID = Comparator.comparing(CountryResponseDTO::id);
+
+    // Close to the database collation: letters first, case only breaks ties
+    private static final Comparator<String> TEXT_ORDER = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private static final Map<String, Comparator<CountryResponseDTO>> COMPARATORS = Map.of(
+            "id", BY_ID,
+            "name", Comparator.comparing(CountryResponseDTO::name, TEXT_ORDER),
+            "code", Comparator.comparing(CountryResponseDTO::code, TEXT_ORDER),
+            "dateCreated", Comparator.comparing(CountryResponseDTO::dateCreated),
+            "dateUpdated", Comparator.comparing(CountryResponseDTO::dateUpdated));
+
+    // Never equal to a stored version, so nothing is revalidated against it. Declared after the comparators it is built with
+    public static final CountryCatalogSnapshot EMPTY = new CountryCatalogSnapshot(-1, List.of());
+
+    private final long version;
+    private final List<CountryResponseDTO> countries;
+    private final Map<Long, CountryResponseDTO> byId;
+    // Ascending by the property, ties by id; descending sorts read it backwards
+    private final Map<String, List<CountryResponseDTO>> sorted;
+
+    public CountryCatalogSnapshot(long version, List<CountryResponseDTO> countries) {
+        this(version, byId(countries), sortedViews(property -> countries, Set.of(), List.of()));
+    }
+
+    private CountryCatalogSnapshot(long version, Map<Long, CountryResponseDTO> byId, Map<String, List<CountryResponseDTO>> sorted) {
+        this.version = version;
+        this.byId = byId;
+        this.sorted = sorted;
+        this.countries = sorted.get("id");
+    }
+
+    // Copy-on-write: untouched rows are shared with this snapshot, each view is re-sorted from a sorted run
+    public CountryCatalogSnapshot withChanges(long version, Collection<CountryResponseDTO> upserted, Collection<Long> deletedIds) {
+        final var touched = new HashSet<>(deletedIds);
+        upserted.forEach(country -> touched.add(country.id()));
+        final var byId = new HashMap<>(this.byId);
+        touched.forEach(byId::remove);
+        upserted.forEach(country -> byId.put(country.id(), country));
+        return new CountryCatalogSnapshot(version, Map.copyOf(byId), sortedViews(sorted::get, touched, upserted));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return countries.size();
+    }
+
+    public Optional<CountryResponseDTO> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public static boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> COMPARATORS.containsKey(order.getProperty()));
+    }
+
+    // Same semantics as CountrySpecs: case-insensitive "contains" on each non-blank filter field
+    public List<CountryResponseDTO> find(CountryFilter filter, Sort sort) {
+        final var view = sortedView(sort);
+        final var matching = (view != null ? view : countries).stream()
+                .filter(contains(filter.name(), CountryResponseDTO::name))
+                .filter(contains(filter.code(), CountryResponseDTO::code));
+        return view != null
+                ? matching.toList()
+                : matching.sorted(comparator(sort)).toList();
+    }
+
+    public long count(CountryFilter filter) {
+        return countries.stream()
+                .filter(contains(filter.name(), CountryResponseDTO::name))
+                .filter(contains(filter.code(), CountryResponseDTO::code))
+                .count();
+    }
+
+    // Null for sorts on several properties, those are still sorted per request
+    private List<CountryResponseDTO> sortedView(Sort sort) {
+        if (sort.isUnsorted())
+            return countries;
+        final var orders = sort.toList();
+        if (orders.size() != 1)
+            return null;
+        final var view = sorted.get(orders.getFirst().getProperty());
+        if (view == null)
+            return null;
+        return orders.getFirst().isAscending() ? view : view.reversed();
+    }
+
+    private static Map<Long, CountryResponseDTO> byId(List<CountryResponseDTO> countries) {
+        final var byId = new HashMap<Long, CountryResponseDTO>();
+        for (CountryResponseDTO country : countries)
+            byId.put(country.id(), country);
+        return Map.copyOf(byId);
+    }
+
+    private static Map<String, List<CountryResponseDTO>> sortedViews(Function<String, List<CountryResponseDTO>> current,
+                                                                     Set<Long> removed,
+                                                                     Collection<CountryResponseDTO> added) {
+        final var views = new HashMap<String, List<CountryResponseDTO>>();
+        COMPARATORS.forEach((property, order) -> {
+            final var previous = current.apply(property);
+            final var view = new ArrayList<CountryResponseDTO>(previous.size() + added.size());
+            for (CountryResponseDTO country : previous)
+                if (!removed.contains(country.id()))
+                    view.add(country);
+            view.addAll(added);
+            // TimSort merges an already sorted run and a few appended rows in linear time
+            view.sort(property.equals("id") ? BY_ID : order.thenComparing(BY_ID));
+            views.put(property, Collections.unmodifiableList(view));
+        });
+        return Map.copyOf(views);
+    }
+
+    private static Predicate<CountryResponseDTO> contains(String text, Function<CountryResponseDTO, String> field) {
+        if (text == null || text.trim().isEmpty())
+            return country -> true;
+        final var lowerText = lower(text);
+        return country -> lower(field.apply(country)).contains(lowerText);
+    }
+
+    private static Comparator<CountryResponseDTO> comparator(Sort sort) {
+        Comparator<CountryResponseDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            var next = Objects.requireNonNull(COMPARATORS.get(order.getProperty()), order.getProperty());
+            if (order.isDescending())
+                next = next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        // Ties keep id order so paging stays stable
+        return comparator == null ? BY_ID : comparator.thenComparing(BY_ID);
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+}
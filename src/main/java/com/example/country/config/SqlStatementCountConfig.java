@@ -0,0 +1,41 @@
+package com.example.country.config;
+
+import com.example.country.datasource.SqlStatementCounter;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Wraps only the "dataSource" bean, the one JPA and JdbcTemplate use. With a replica that is the routing proxy,
+// so each statement is counted once and the Hikari pools underneath stay unwrapped for their metrics
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql.statement-count", name = "enabled", matchIfMissing = true)
+public class SqlStatementCountConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor(ObjectProvider<SqlStatementCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource))
+                    return bean;
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(DATA_SOURCE_BEAN)
+                        .listener(counter.getObject())
+                        .build();
+            }
+        };
+    }
+
+}
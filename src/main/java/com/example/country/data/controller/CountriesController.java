@@ -1,29 +1,62 @@
 package com.example.country.data.controller;
 
+import com.example.country.cache.CountryPageCache;
+import com.example.country.data.controller.dto.AddCountriesRequestDTO;
 import com.example.country.data.controller.dto.AddCountryRequestDTO;
+import com.example.country.data.controller.dto.BulkDeleteRequestDTO;
+import com.example.country.data.controller.dto.BulkResultDTO;
+import com.example.country.data.controller.dto.BulkUpdateRequestDTO;
 import com.example.country.data.controller.dto.CountryFilter;
 import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.CursorPageResponseDTO;
+import com.example.country.data.controller.dto.ImportFormat;
+import com.example.country.data.controller.dto.ImportResultDTO;
 import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
+import com.example.country.datasource.PrimaryReadContext;
+import com.example.country.ex.CountriesAlreadyExistException;
 import com.example.country.ex.CountryAlreadyExistsException;
+import com.example.country.mapper.CountryCsvMapper;
+import com.example.country.mapper.CountryCursorMapper;
 import com.example.country.mapper.CountryMapper;
 import com.example.country.service.CountryService;
+import com.example.country.util.ETagUtil;
+import com.example.country.util.PageUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @Controller
 @RequestMapping("/api/v1/countries")
 @RequiredArgsConstructor
 public class CountriesController {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
     private final CountryService countryService;
+    private final CountryPageCache countryPageCache;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<CountryResponseDTO> add(@Valid @RequestBody AddCountryRequestDTO requestDTO,
@@ -35,9 +68,6 @@ public class CountriesController {
                     ? exception
                     : new BindException(bindingResult);
 
-        if (countryService.isCountryExistsByNameOrCode(requestDTO.name(), requestDTO.code()))
-            throw new CountryAlreadyExistsException("Country already exists");
-
         return new ResponseEntity<>(
                 CountryMapper.toDTO(countryService.add(CountryMapper.fromCreateDTO(requestDTO))),
                 HttpStatus.CREATED
@@ -45,17 +75,182 @@ public class CountriesController {
 
     }
 
+    // All or nothing: any conflicting item rejects the whole batch with one error per item
+    @PostMapping("/batch")
+    public ResponseEntity<List<CountryResponseDTO>> addAll(@Valid @RequestBody AddCountriesRequestDTO requestDTO,
+                                                           BindingResult bindingResult
+    ) throws BindException, CountriesAlreadyExistException {
+
+        if (bindingResult.hasErrors())
+            throw bindingResult instanceof BindException exception
+                    ? exception
+                    : new BindException(bindingResult);
+
+        return new ResponseEntity<>(
+                countryService.addAll(requestDTO.countries().stream().map(CountryMapper::fromCreateDTO).toList())
+                        .stream()
+                        .map(CountryMapper::toDTO)
+                        .toList(),
+                HttpStatus.CREATED
+        );
+
+    }
+
+    // One UPDATE ... FROM unnest for all id-keyed patches, conflicts are reported for every patch at once.
+    // Patches may swap names or codes between rows of the same request
+    @PostMapping("/bulk-update")
+    public ResponseEntity<BulkResultDTO> updateAll(@Valid @RequestBody BulkUpdateRequestDTO requestDTO,
+                                                   BindingResult bindingResult
+    ) throws BindException, CountriesAlreadyExistException {
+
+        if (bindingResult.hasErrors())
+            throw bindingResult instanceof BindException exception
+                    ? exception
+                    : new BindException(bindingResult);
+
+        return ResponseEntity.ok(
+                CountryMapper.toBulkResult(
+                        countryService.updateAll(
+                                requestDTO.countries().stream().map(CountryMapper::fromBulkUpdateDTO).toList())));
+
+    }
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkResultDTO> deleteAll(@Valid @RequestBody BulkDeleteRequestDTO requestDTO,
+                                                   BindingResult bindingResult
+    ) throws BindException {
+
+        if (bindingResult.hasErrors())
+            throw bindingResult instanceof BindException exception
+                    ? exception
+                    : new BindException(bindingResult);
+
+        return ResponseEntity.ok(
+                CountryMapper.toBulkResult(
+                        requestDTO.isByIds()
+                                ? countryService.deleteAll(requestDTO.ids())
+                                : countryService.deleteAll(new CountryFilter(requestDTO.name(), requestDTO.code()))));
+
+    }
+
+    // The body is streamed into Postgres with COPY, invalid and conflicting rows are counted as rejected
+    @PostMapping(path = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportResultDTO> importCountries(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                           InputStream body
+    ) {
+        return ResponseEntity.ok(countryService.importCountries(body, ImportFormat.fromMediaType(contentType)));
+    }
+
     @GetMapping
     public ResponseEntity<PageResponseDTO> findAll(
             @RequestParam(name = "name", required = false) String name,
             @RequestParam(name = "code", required = false) String code,
+            @RequestParam(name = "total", defaultValue = "exact") TotalKind total,
+            @PageableDefault Pageable pageable,
+            WebRequest webRequest
+    ) {
+
+        // Read before the page, so the page is never older than the version it is tagged with
+        final var version = countryService.getCatalogVersion();
+        final var eTag = ETagUtil.catalogETag(version);
+        if (webRequest.checkNotModified(eTag))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .build();
+
+        final var filter = new CountryFilter(name, code);
+        return ResponseEntity.ok().eTag(eTag).body(countryPageCache.get(version, filter, total, pageable, () ->
+                switch (total) {
+                    case EXACT -> CountryMapper.toPage(countryService.findAllProjected(filter, pageable));
+                    case ESTIMATED -> PageUtil.toEstimatedPage(
+                            countryService.findSliceProjected(filter, pageable),
+                            countryService.estimateCount(filter));
+                    case NONE -> PageUtil.toSlicePage(countryService.findSliceProjected(filter, pageable));
+                }));
+
+    }
+
+    // Rows go straight from a server-side cursor to the response, heap use doesn't depend on the table size.
+    // NDJSON is the default: no produces restriction, so requests without Accept or with */* land here
+    // instead of matching both mappings, while Accept: text/csv still prefers the more specific CSV one
+    @GetMapping(path = "/export")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "code", required = false) String code
+    ) {
+        return export(new CountryFilter(name, code), MediaType.APPLICATION_NDJSON, null, objectMapper::writeValueAsString);
+    }
+
+    @GetMapping(path = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "code", required = false) String code
+    ) {
+        return export(new CountryFilter(name, code), TEXT_CSV, CountryCsvMapper.HEADER, CountryCsvMapper::toLine);
+    }
+
+    // Keyset pagination: "after" is empty for the first page, then the "next_cursor" of the previous one
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageResponseDTO> findAllAfter(
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "code", required = false) String code,
+            @RequestParam(name = "after") String after,
             @PageableDefault Pageable pageable
     ) {
+        final var cursor = after.isEmpty()
+                ? CountryCursorMapper.first(pageable.getSort())
+                : CountryCursorMapper.fromToken(after);
         return ResponseEntity.ok(
-                CountryMapper.toPage(
+                CountryMapper.toCursorPage(
                         countryService.findAll(
                                 new CountryFilter(name, code),
-                                pageable)));
+                                cursor.position(),
+                                cursor.sort(),
+                                pageable.getPageSize()),
+                        cursor.order(),
+                        pageable.getPageSize()));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(CountryFilter filter,
+                                                         MediaType mediaType,
+                                                         String header,
+                                                         LineMapper lineMapper
+    ) {
+
+        // The body runs on the async executor, so read-your-writes routing is carried over from the request thread
+        final var primaryForced = PrimaryReadContext.isPrimaryForced();
+        final StreamingResponseBody body = outputStream -> {
+            if (primaryForced)
+                PrimaryReadContext.forcePrimary();
+            try {
+                final var writer = new BufferedWriter(
+                        new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                        EXPORT_BUFFER_SIZE);
+                if (header != null)
+                    writer.write(header + "\n");
+                countryService.export(filter, country -> {
+                    try {
+                        writer.write(lineMapper.toLine(country));
+                        writer.write('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                writer.flush();
+            } finally {
+                PrimaryReadContext.clear();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(body);
+
+    }
+
+    @FunctionalInterface
+    private interface LineMapper {
+        String toLine(CountryResponseDTO country) throws IOException;
     }
 
 }
@@ -2,20 +2,21 @@ package com.example.country.data.controller;
 
 import com.example.country.data.controller.dto.CountryResponseDTO;
 import com.example.country.data.controller.dto.UpdateCountryRequestDTO;
-import com.example.country.data.entity.Country;
 import com.example.country.ex.CountryAlreadyExistsException;
 import com.example.country.ex.CountryNotFoundException;
 import com.example.country.mapper.CountryMapper;
 import com.example.country.service.CountryService;
-import jakarta.annotation.Nonnull;
+import com.example.country.util.ETagUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @Controller
 @RequestMapping("/api/v1/country/{id}")
@@ -24,45 +25,57 @@ public class CountryController {
 
     private final CountryService countryService;
 
-    @Nonnull
-    @ModelAttribute("country")
-    public Country country(@PathVariable("id") Long id) throws CountryNotFoundException {
-        return countryService.findById(id)
-                .orElseThrow(() -> new CountryNotFoundException("Country with id = [%d] not found".formatted(id)));
-    }
-
+    // Revalidation only reads date_updated; the entity is loaded by id, so hot ids are served from the second-level cache
     @GetMapping
-    public ResponseEntity<CountryResponseDTO> findById(@ModelAttribute("country") Country country) {
-        return ResponseEntity.ok(CountryMapper.toDTO(country));
+    public ResponseEntity<CountryResponseDTO> findById(@PathVariable("id") Long id, WebRequest webRequest) throws CountryNotFoundException {
+
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            final var version = countryService.findVersionById(id).orElseThrow(() -> notFound(id));
+            final var eTag = ETagUtil.countryETag(id, version);
+            if (webRequest.checkNotModified(eTag, version.getTime()))
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .lastModified(version.getTime())
+                        .build();
+        }
+
+        final var country = countryService.findById(id).orElseThrow(() -> notFound(id));
+        return ResponseEntity.ok()
+                .eTag(ETagUtil.countryETag(id, country.getDateUpdated()))
+                .lastModified(country.getDateUpdated().getTime())
+                .body(CountryMapper.toDTO(country));
+
     }
 
+    // PATCH and DELETE run a single statement each, missing ids surface as CountryNotFoundException
     @PatchMapping
     public ResponseEntity<CountryResponseDTO> update(
-            @ModelAttribute("country") Country oldCountry,
+            @PathVariable("id") Long id,
             @Valid @RequestBody UpdateCountryRequestDTO requestDTO,
             BindingResult bindingResult
-    ) throws BindException {
+    ) throws BindException, CountryNotFoundException, CountryAlreadyExistsException {
 
         if (bindingResult.hasErrors())
             throw bindingResult instanceof BindException exception
                     ? exception
                     : new BindException(bindingResult);
 
-        if (countryService.isCountryExistsByNameOrCodeAndNotId(requestDTO.name(), requestDTO.code(), oldCountry.getId()))
-            throw new CountryAlreadyExistsException("Country already exists");
-
         return ResponseEntity.ok(
                 CountryMapper.toDTO(
                         countryService.update(
-                                oldCountry,
+                                id,
                                 CountryMapper.fromUpdateDTO(requestDTO))));
 
     }
 
     @DeleteMapping
-    public ResponseEntity<Void> delete(@ModelAttribute("country") Country country) {
-        countryService.delete(country);
+    public ResponseEntity<Void> delete(@PathVariable("id") Long id) throws CountryNotFoundException {
+        countryService.delete(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    private static CountryNotFoundException notFound(Long id) {
+        return new CountryNotFoundException("Country with id = [%d] not found".formatted(id));
+    }
+
 }
@@ -1,6 +1,8 @@
 package com.example.country.data.controller.advice;
 
 import com.example.country.data.controller.dto.ApiError;
+import com.example.country.ex.InvalidCursorException;
+import com.example.country.ex.InvalidImportException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -46,5 +48,42 @@ public class BadRequestControllerAdvice {
 
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursorException(InvalidCursorException exception,
+                                                                 HttpServletRequest request
+    ) {
+
+        log.info("Bad request. uri: {}, message: {}", request.getRequestURI(), exception.getMessage());
+
+        ApiError apiError = ApiError.builder()
+                .apiVersion(apiVersion)
+                .code(HttpStatus.BAD_REQUEST.toString())
+                .message("Bad request. Invalid cursor")
+                .domain(request.getRequestURI())
+                .reason(exception.getMessage())
+                .build();
+
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ApiError> handleInvalidImportException(InvalidImportException exception,
+                                                                 HttpServletRequest request
+    ) {
+
+        log.info("Bad request. uri: {}, message: {}", request.getRequestURI(), exception.getMessage());
+
+        ApiError apiError = ApiError.builder()
+                .apiVersion(apiVersion)
+                .code(HttpStatus.BAD_REQUEST.toString())
+                .message("Bad request. Invalid import body")
+                .domain(request.getRequestURI())
+                .reason(exception.getMessage())
+                .build();
+
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+
+    }
 
 }
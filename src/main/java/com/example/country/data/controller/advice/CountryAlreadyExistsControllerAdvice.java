@@ -1,6 +1,7 @@
 package com.example.country.data.controller.advice;
 
 import com.example.country.data.controller.dto.ApiError;
+import com.example.country.ex.CountriesAlreadyExistException;
 import com.example.country.ex.CountryAlreadyExistsException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -35,5 +36,31 @@ public class CountryAlreadyExistsControllerAdvice {
 
     }
 
+    @ExceptionHandler(CountriesAlreadyExistException.class)
+    public ResponseEntity<ApiError> handleCountriesAlreadyExist(CountriesAlreadyExistException exception,
+                                                                HttpServletRequest request
+    ) {
+
+        log.info("Countries already exist. uri: {}, conflicts: {}", request.getRequestURI(), exception.getConflicts().size());
+
+        var errorItems = exception.getConflicts().stream()
+                .map(conflict -> new ApiError.ErrorItem(
+                        request.getRequestURI(),
+                        "Country already exists",
+                        "Country [%d] with name = [%s] or code = [%s] already exists".formatted(
+                                conflict.index(),
+                                conflict.name(),
+                                conflict.code())))
+                .toList();
+
+        ApiError apiError = ApiError.builderErrors()
+                .apiVersion(apiVersion)
+                .code(HttpStatus.CONFLICT.toString())
+                .message(exception.getMessage())
+                .errorItems(errorItems)
+                .buildErrors();
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+
+    }
 
 }
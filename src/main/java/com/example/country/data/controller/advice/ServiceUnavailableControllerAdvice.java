@@ -0,0 +1,44 @@
+package com.example.country.data.controller.advice;
+
+import com.example.country.data.controller.dto.ApiError;
+import com.example.country.ex.CountryWriteBufferUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@Slf4j
+@ControllerAdvice
+public class ServiceUnavailableControllerAdvice {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @Value("${app.api.version}")
+    private String apiVersion;
+
+    @ExceptionHandler(CountryWriteBufferUnavailableException.class)
+    public ResponseEntity<ApiError> handleCountryWriteBufferUnavailableException(CountryWriteBufferUnavailableException exception,
+                                                                                 HttpServletRequest request
+    ) {
+
+        log.warn("Service unavailable. uri: {}, message: {}", request.getRequestURI(), exception.getMessage());
+
+        ApiError apiError = ApiError.builder()
+                .apiVersion(apiVersion)
+                .code(HttpStatus.SERVICE_UNAVAILABLE.toString())
+                .message("Service unavailable. Too many pending writes")
+                .domain(request.getRequestURI())
+                .reason(exception.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(apiError);
+
+    }
+
+}
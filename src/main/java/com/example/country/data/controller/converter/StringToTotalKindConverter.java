@@ -0,0 +1,16 @@
+package com.example.country.data.controller.converter;
+
+import com.example.country.data.controller.dto.TotalKind;
+import jakarta.annotation.Nonnull;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StringToTotalKindConverter implements Converter<String, TotalKind> {
+
+    @Override
+    public TotalKind convert(@Nonnull String source) {
+        return TotalKind.fromValue(source);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.example.country.data.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Objects;
+
+// Binds a plain JSON array, so the list can carry its own constraints
+public record AddCountriesRequestDTO(
+
+        @NotEmpty(message = "countries list is empty")
+        @Size(max = 10_000, message = "too many countries in one batch")
+        @JsonValue
+        List<@Valid AddCountryRequestDTO> countries
+
+) {
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public AddCountriesRequestDTO {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AddCountriesRequestDTO that = (AddCountriesRequestDTO) o;
+        return Objects.equals(countries, that.countries);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(countries);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.example.country.data.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.Objects;
+
+@Builder
+public record BulkDeleteRequestDTO(
+
+        @Size(max = 10_000, message = "too many ids in one request")
+        @JsonProperty("ids")
+        List<Long> ids,
+
+        @JsonProperty("name")
+        String name,
+
+        @JsonProperty("code")
+        String code
+
+) {
+
+    @JsonIgnore
+    public boolean isByIds() {
+        return ids != null;
+    }
+
+    // An empty filter would delete the whole catalog, so one of ids, name or code is required
+    @JsonIgnore
+    @AssertTrue(message = "either ids or a name/code filter is required")
+    public boolean isTargetValid() {
+        return isByIds()
+                ? name == null && code == null && !ids.isEmpty() && ids.stream().noneMatch(Objects::isNull)
+                : (name != null && !name.isBlank()) || (code != null && !code.isBlank());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkDeleteRequestDTO that = (BulkDeleteRequestDTO) o;
+        return Objects.equals(ids, that.ids) && Objects.equals(name, that.name) && Objects.equals(code, that.code);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ids, name, code);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.example.country.data.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.Objects;
+
+@Builder
+public record BulkResultDTO(
+
+        @JsonProperty("affected")
+        int affected,
+
+        @JsonProperty("ids")
+        List<Long> ids
+
+) {
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkResultDTO that = (BulkResultDTO) o;
+        return affected == that.affected && Objects.equals(ids, that.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(affected, ids);
+    }
+
+}
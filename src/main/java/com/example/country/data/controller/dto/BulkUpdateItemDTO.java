@@ -0,0 +1,40 @@
+package com.example.country.data.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.Objects;
+
+@Builder
+public record BulkUpdateItemDTO(
+
+        @NotNull(message = "country id is required")
+        @JsonProperty("id")
+        Long id,
+
+        @Size(min = 3, max = 50, message = "invalid country name")
+        @JsonProperty("name")
+        String name,
+
+        @Size(min = 2, max = 3, message = "invalid country code")
+        @JsonProperty("code")
+        String code
+
+) {
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkUpdateItemDTO that = (BulkUpdateItemDTO) o;
+        return Objects.equals(id, that.id) && Objects.equals(name, that.name) && Objects.equals(code, that.code);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, code);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.example.country.data.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Objects;
+
+// Binds a plain JSON array of id-keyed patches. Unlike bulk delete there is no filter form:
+// name and code are unique, so one patch applied to every matching row could succeed for one row at most
+public record BulkUpdateRequestDTO(
+
+        @NotEmpty(message = "countries list is empty")
+        @Size(max = 10_000, message = "too many countries in one request")
+        @JsonValue
+        List<@Valid BulkUpdateItemDTO> countries
+
+) {
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public BulkUpdateRequestDTO {
+    }
+
+    // UPDATE ... FROM would apply only one of several patches for the same row
+    @JsonIgnore
+    @AssertTrue(message = "country ids must be unique")
+    public boolean isIdsUnique() {
+        return countries == null
+                || countries.stream().map(BulkUpdateItemDTO::id).filter(Objects::nonNull).distinct().count()
+                == countries.stream().map(BulkUpdateItemDTO::id).filter(Objects::nonNull).count();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BulkUpdateRequestDTO that = (BulkUpdateRequestDTO) o;
+        return Objects.equals(countries, that.countries);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(countries);
+    }
+
+}
@@ -3,6 +3,7 @@ package com.example.country.data.controller.dto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -26,6 +27,11 @@ public record CountryResponseDTO(
 
 ) {
 
+    // Used by JPA constructor expressions that select straight into the DTO
+    public CountryResponseDTO(Long id, String name, String code, Timestamp dateCreated, Timestamp dateUpdated) {
+        this(id, name, code, dateCreated.toLocalDateTime(), dateUpdated.toLocalDateTime());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,56 @@
+package com.example.country.data.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public record CursorPageResponseDTO(
+
+        @JsonProperty("items_per_page")
+        Integer itemsPerPage,
+
+        @JsonProperty("has_next")
+        Boolean hasNext,
+
+        @JsonProperty("next_cursor")
+        String nextCursor,
+
+        @JsonProperty("data")
+        List<?> data
+
+) implements Serializable {
+
+    @Builder
+    @JsonCreator
+    public CursorPageResponseDTO {
+
+        if (itemsPerPage == null)
+            itemsPerPage = 0;
+
+        if (hasNext == null)
+            hasNext = nextCursor != null;
+
+        if (data == null)
+            data = Collections.emptyList();
+
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CursorPageResponseDTO that = (CursorPageResponseDTO) o;
+        return Objects.equals(data, that.data) && Objects.equals(hasNext, that.hasNext) && Objects.equals(nextCursor, that.nextCursor) && Objects.equals(itemsPerPage, that.itemsPerPage);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(itemsPerPage, hasNext, nextCursor, data);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.example.country.data.controller.dto;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+
+    CSV(MediaType.valueOf("text/csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public static ImportFormat fromMediaType(MediaType mediaType) {
+        for (ImportFormat format : values())
+            if (format.mediaType.isCompatibleWith(mediaType))
+                return format;
+        throw new IllegalArgumentException("Unsupported import media type: " + mediaType);
+    }
+
+}
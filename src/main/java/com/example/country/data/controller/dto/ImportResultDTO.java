@@ -0,0 +1,35 @@
+package com.example.country.data.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.Objects;
+
+@Builder
+public record ImportResultDTO(
+
+        @JsonProperty("total")
+        long total,
+
+        @JsonProperty("accepted")
+        long accepted,
+
+        @JsonProperty("rejected")
+        long rejected
+
+) {
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ImportResultDTO that = (ImportResultDTO) o;
+        return total == that.total && accepted == that.accepted && rejected == that.rejected;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(total, accepted, rejected);
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.example.country.data.controller.dto;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 
@@ -9,6 +10,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PageResponseDTO(
 
         @JsonProperty("current_page")
@@ -23,6 +25,12 @@ public record PageResponseDTO(
         @JsonProperty("total_items")
         Long totalItems,
 
+        @JsonProperty("total_kind")
+        TotalKind totalKind,
+
+        @JsonProperty("has_next")
+        Boolean hasNext,
+
         @JsonProperty("data")
         List<?> data
 
@@ -32,17 +40,27 @@ public record PageResponseDTO(
     @JsonCreator
     public PageResponseDTO {
 
+        if (totalKind == null)
+            totalKind = TotalKind.EXACT;
+
         if (currentPage == null)
             currentPage = 0;
 
-        if (totalPages == null)
-            totalPages = 0;
-
         if (itemsPerPage == null)
             itemsPerPage = 0;
 
-        if (totalItems == null)
-            totalItems = 0L;
+        if (totalKind != TotalKind.NONE) {
+
+            if (totalPages == null)
+                totalPages = 0;
+
+            if (totalItems == null)
+                totalItems = 0L;
+
+        }
+
+        if (hasNext == null)
+            hasNext = totalPages != null && currentPage + 1 < totalPages;
 
         if (data == null)
             data = Collections.emptyList();
@@ -54,12 +72,12 @@ public record PageResponseDTO(
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PageResponseDTO that = (PageResponseDTO) o;
-        return Objects.equals(data, that.data) && Objects.equals(totalItems, that.totalItems) && Objects.equals(totalPages, that.totalPages) && Objects.equals(currentPage, that.currentPage) && Objects.equals(itemsPerPage, that.itemsPerPage);
+        return Objects.equals(data, that.data) && Objects.equals(totalItems, that.totalItems) && Objects.equals(totalPages, that.totalPages) && Objects.equals(currentPage, that.currentPage) && Objects.equals(itemsPerPage, that.itemsPerPage) && totalKind == that.totalKind && Objects.equals(hasNext, that.hasNext);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(currentPage, totalPages, itemsPerPage, totalItems, data);
+        return Objects.hash(currentPage, totalPages, itemsPerPage, totalItems, totalKind, hasNext, data);
     }
 
 }
@@ -0,0 +1,31 @@
+package com.example.country.data.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+
+public enum TotalKind {
+
+    EXACT("exact"),
+    ESTIMATED("estimated"),
+    NONE("none");
+
+    private final String value;
+
+    TotalKind(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String value() {
+        return value;
+    }
+
+    public static TotalKind fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(kind -> kind.value.equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown total kind [%s]".formatted(value)));
+    }
+
+}
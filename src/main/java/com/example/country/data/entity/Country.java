@@ -3,6 +3,8 @@ package com.example.country.data.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.sql.Timestamp;
@@ -17,13 +19,20 @@ import java.util.Objects;
 @Accessors(chain = true)
 @ToString(onlyExplicitlyIncluded = true)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Country.CACHE_REGION)
 @Table(schema = "app", name = "country")
 public class Country {
 
+    // Bounds are configured in application.conf under caffeine.jcache.country
+    public static final String CACHE_REGION = "country";
+
     @ToString.Include
     @With
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts, see V4__country_id_pooled_sequence.sql
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "country_id_seq")
+    @SequenceGenerator(name = "country_id_seq", schema = "app", sequenceName = "country_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, unique = true)
     private Long id;
 
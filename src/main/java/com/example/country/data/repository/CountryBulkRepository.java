@@ -0,0 +1,243 @@
+package com.example.country.data.repository;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.ImportFormat;
+import com.example.country.data.controller.dto.ImportResultDTO;
+import com.example.country.data.entity.Country;
+import com.example.country.ex.InvalidImportException;
+import com.example.country.util.LikeUtil;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Plain JDBC for set-based bulk statements that JPA can't express, runs on the JPA transaction's connection
+@Repository
+@RequiredArgsConstructor
+public class CountryBulkRepository {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE country_import
+            (
+                line bigint GENERATED ALWAYS AS IDENTITY,
+                name text,
+                code text
+            ) ON COMMIT DROP""";
+
+    private static final String CREATE_DOCUMENT_STAGING = """
+            CREATE TEMP TABLE country_import_doc
+            (
+                line bigint GENERATED ALWAYS AS IDENTITY,
+                doc  text
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_CSV = """
+            COPY country_import (name, code) FROM STDIN WITH (FORMAT csv, HEADER MATCH)""";
+
+    // One raw line per row: the delimiter and quote are control characters that can't appear in valid JSON
+    private static final String COPY_NDJSON = """
+            COPY country_import_doc (doc) FROM STDIN WITH (FORMAT csv, DELIMITER E'\\x1f', QUOTE E'\\x1e')""";
+
+    // Lines that are not JSON objects are staged with null fields and rejected by validation
+    private static final String STAGE_DOCUMENTS = """
+            INSERT INTO country_import (name, code)
+            SELECT CASE WHEN json THEN doc::jsonb ->> 'name' END,
+                   CASE WHEN json THEN doc::jsonb ->> 'code' END
+            FROM (SELECT line,
+                         doc,
+                         pg_input_is_valid(doc, 'jsonb') AND left(ltrim(doc), 1) = '{' AS json
+                  FROM country_import_doc
+                  WHERE btrim(doc) <> '') AS docs
+            ORDER BY line""";
+
+    // Same rules as AddCountryRequestDTO, conflicts (also inside the import) are skipped by the lower() unique indexes.
+    // @NotBlank trims every control character up to the space, not just spaces as btrim() does
+    private static final String MERGE = """
+            WITH inserted AS (
+                INSERT INTO app.country (name, code, date_created, date_updated)
+                SELECT name, code, ?, ?
+                FROM country_import
+                WHERE name ~ '[^\\x01-\\x20]'
+                  AND length(name) BETWEEN 3 AND 50
+                  AND code ~ '[^\\x01-\\x20]'
+                  AND length(code) BETWEEN 2 AND 3
+                ORDER BY line
+                ON CONFLICT DO NOTHING
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM country_import), (SELECT count(*) FROM inserted)""";
+
+    // Group commit of single creates: rows conflicting with stored ones or with earlier rows of the batch are skipped
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO app.country (name, code, date_created, date_updated)
+            SELECT name, code, ?, ?
+            FROM unnest(?::text[], ?::text[]) WITH ORDINALITY AS c (name, code, line)
+            ORDER BY line
+            ON CONFLICT DO NOTHING
+            RETURNING *""";
+
+    private static final String DELETE_BY_IDS = "DELETE FROM app.country WHERE id = ANY (?) RETURNING *";
+
+    // Unique indexes are checked row by row, not at the end of the statement, so two patches swapping names
+    // would collide inside UPDATE_BY_IDS. Values another patch takes over are parked first under placeholders
+    // made of control characters only: no valid name or code consists of them, and 31^3 exceed a bulk request
+    private static final String PARK_BY_IDS = """
+            UPDATE app.country c
+            SET name = CASE WHEN p.park_name THEN chr(1 + p.line / 961 % 31) || chr(1 + p.line / 31 % 31) || chr(1 + p.line % 31) ELSE c.name END,
+                code = CASE WHEN p.park_code THEN chr(1 + p.line / 961 % 31) || chr(1 + p.line / 31 % 31) || chr(1 + p.line % 31) ELSE c.code END
+            FROM unnest(?::bigint[], ?::boolean[], ?::boolean[]) WITH ORDINALITY AS p (id, park_name, park_code, line)
+            WHERE c.id = p.id""";
+
+    // Empty patch fields keep the stored value, like the single-row PATCH
+    private static final String UPDATE_BY_IDS = """
+            UPDATE app.country c
+            SET name         = coalesce(nullif(p.name, ''), c.name),
+                code         = coalesce(nullif(p.code, ''), c.code),
+                date_updated = ?
+            FROM unnest(?::bigint[], ?::text[], ?::text[]) AS p (id, name, code)
+            WHERE c.id = p.id
+            RETURNING c.*""";
+
+    private static final RowMapper<Country> COUNTRY_ROW_MAPPER = (rs, rowNum) -> Country.builder()
+            .id(rs.getLong("id"))
+            .name(rs.getString("name"))
+            .code(rs.getString("code"))
+            .dateCreated(rs.getTimestamp("date_created"))
+            .dateUpdated(rs.getTimestamp("date_updated"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public ImportResultDTO importCountries(InputStream body, ImportFormat format, Timestamp now) {
+
+        jdbcTemplate.execute(CREATE_STAGING);
+        switch (format) {
+            case CSV -> copy(COPY_CSV, body);
+            case NDJSON -> {
+                jdbcTemplate.execute(CREATE_DOCUMENT_STAGING);
+                copy(COPY_NDJSON, body);
+                jdbcTemplate.update(STAGE_DOCUMENTS);
+            }
+        }
+
+        return jdbcTemplate.queryForObject(
+                MERGE,
+                (rs, rowNum) -> ImportResultDTO.builder()
+                        .total(rs.getLong(1))
+                        .accepted(rs.getLong(2))
+                        .rejected(rs.getLong(1) - rs.getLong(2))
+                        .build(),
+                now,
+                now);
+
+    }
+
+    @Transactional
+    public List<Country> deleteByIds(List<Long> ids) {
+        return jdbcTemplate.query(
+                DELETE_BY_IDS,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+                COUNTRY_ROW_MAPPER);
+    }
+
+    // Same predicates as CountrySpecs, so the lower(name)/lower(code) trigram indexes apply
+    @Transactional
+    public List<Country> deleteByFilter(CountryFilter filter) {
+
+        final var conditions = new ArrayList<String>();
+        final var args = new ArrayList<Object>();
+        if (filter.name() != null && !filter.name().isBlank()) {
+            conditions.add("lower(name) LIKE ? ESCAPE '\\'");
+            args.add(LikeUtil.containsPattern(filter.name()));
+        }
+        if (filter.code() != null && !filter.code().isBlank()) {
+            conditions.add("lower(code) LIKE ? ESCAPE '\\'");
+            args.add(LikeUtil.containsPattern(filter.code()));
+        }
+        if (conditions.isEmpty())
+            throw new IllegalArgumentException("Filter must contain name or code");
+
+        return jdbcTemplate.query(
+                "DELETE FROM app.country WHERE " + String.join(" AND ", conditions) + " RETURNING *",
+                COUNTRY_ROW_MAPPER,
+                args.toArray());
+
+    }
+
+    // Returns the inserted rows only, the caller matches them back to its requests
+    @Transactional
+    public List<Country> insertAllIfAbsent(List<Country> countries, Timestamp now) {
+        return jdbcTemplate.query(
+                INSERT_IF_ABSENT,
+                ps -> {
+                    final var connection = ps.getConnection();
+                    ps.setTimestamp(1, now);
+                    ps.setTimestamp(2, now);
+                    ps.setArray(3, connection.createArrayOf("text", countries.stream().map(Country::getName).toArray()));
+                    ps.setArray(4, connection.createArrayOf("text", countries.stream().map(Country::getCode).toArray()));
+                },
+                COUNTRY_ROW_MAPPER);
+    }
+
+    // One statement for all patches, ids and values are passed as parallel arrays.
+    // Parked ids are rows whose stored name or code another patch takes over, they must change it themselves
+    @Transactional
+    public List<Country> updateByIds(List<Country> patches, Set<Long> parkedNameIds, Set<Long> parkedCodeIds, Timestamp now) {
+        if (!parkedNameIds.isEmpty() || !parkedCodeIds.isEmpty()) {
+            final var ids = new ArrayList<Long>(parkedNameIds);
+            parkedCodeIds.stream().filter(id -> !parkedNameIds.contains(id)).forEach(ids::add);
+            jdbcTemplate.update(
+                    PARK_BY_IDS,
+                    ps -> {
+                        final var connection = ps.getConnection();
+                        ps.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+                        ps.setArray(2, connection.createArrayOf("boolean", ids.stream().map(parkedNameIds::contains).toArray()));
+                        ps.setArray(3, connection.createArrayOf("boolean", ids.stream().map(parkedCodeIds::contains).toArray()));
+                    });
+        }
+        return jdbcTemplate.query(
+                UPDATE_BY_IDS,
+                ps -> {
+                    final var connection = ps.getConnection();
+                    ps.setTimestamp(1, now);
+                    ps.setArray(2, connection.createArrayOf("bigint", patches.stream().map(Country::getId).toArray()));
+                    ps.setArray(3, connection.createArrayOf("text", patches.stream().map(Country::getName).toArray()));
+                    ps.setArray(4, connection.createArrayOf("text", patches.stream().map(Country::getCode).toArray()));
+                },
+                COUNTRY_ROW_MAPPER);
+    }
+
+    // Streams the body through the driver in fixed-size chunks, nothing is buffered beyond COPY_BUFFER_SIZE
+    private void copy(String sql, InputStream body) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(sql, body, COPY_BUFFER_SIZE);
+            } catch (SQLException ex) {
+                // Class 22 is "data exception": malformed CSV, wrong header, extra columns
+                if (ex.getSQLState() != null && ex.getSQLState().startsWith("22"))
+                    throw new InvalidImportException(ex.getMessage());
+                throw ex;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+}
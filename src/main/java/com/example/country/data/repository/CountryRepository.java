@@ -5,13 +5,24 @@ import jakarta.annotation.Nonnull;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface CountryRepository extends CrudRepository<Country, Long>, JpaSpecificationExecutor<Country> {
+public interface CountryRepository extends CrudRepository<Country, Long>, JpaSpecificationExecutor<Country>, CountryRepositoryCustom {
 
     Optional<Country> findById(@Nonnull Long id);
 
+    @Query("SELECT c.dateUpdated FROM Country c WHERE c.id = :id")
+    Optional<Timestamp> findDateUpdatedById(@Nonnull Long id);
+
+    // Bumped once per writing transaction at commit, see V6__country_catalog_version.sql
+    @Query(value = "SELECT version FROM app.country_catalog_version", nativeQuery = true)
+    long findCatalogVersion();
+
     @Query("SELECT COUNT (c) > 0 FROM Country c WHERE lower(c.name) = lower(:name) or lower(c.code) = lower(:code)")
     boolean existsByNameOrCode(@Nonnull String name, @Nonnull String code);
 
@@ -19,4 +30,31 @@ public interface CountryRepository extends CrudRepository<Country, Long>, JpaSpe
 //    @Query("SELECT COUNT(c) > 0 FROM Country c WHERE (lower(c.name) = lower(:name) AND c.id != :id) OR (lower(c.code) = lower(:code) AND c.id != :id)")
     boolean existsByNameOrCodeAndIdNot(@Nonnull String name, @Nonnull String code, @Nonnull Long id);
 
+    @Query("SELECT c FROM Country c WHERE lower(c.name) IN :names OR lower(c.code) IN :codes")
+    List<Country> findAllByLowerNameInOrLowerCodeIn(@Nonnull Collection<String> names, @Nonnull Collection<String> codes);
+
+    // Relies on the lower(name)/lower(code) unique indexes, returns empty when the country already exists
+    @Transactional
+    @Query(value = """
+            INSERT INTO app.country (name, code, date_created, date_updated)
+            VALUES (:name, :code, :now, :now)
+            ON CONFLICT DO NOTHING
+            RETURNING *""", nativeQuery = true)
+    Optional<Country> insertIfAbsent(@Nonnull String name, @Nonnull String code, @Nonnull Timestamp now);
+
+    // Empty name or code keeps the stored value, returns empty when there is no country with this id
+    @Transactional
+    @Query(value = """
+            UPDATE app.country
+            SET name         = coalesce(nullif(:name, ''), name),
+                code         = coalesce(nullif(:code, ''), code),
+                date_updated = :now
+            WHERE id = :id
+            RETURNING *""", nativeQuery = true)
+    Optional<Country> updateById(@Nonnull Long id, @Nonnull String name, @Nonnull String code, @Nonnull Timestamp now);
+
+    @Transactional
+    @Query(value = "DELETE FROM app.country WHERE id = :id RETURNING *", nativeQuery = true)
+    Optional<Country> deleteReturningById(@Nonnull Long id);
+
 }
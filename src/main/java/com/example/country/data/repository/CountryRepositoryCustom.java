@@ -0,0 +1,26 @@
+package com.example.country.data.repository;
+
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.entity.Country;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface CountryRepositoryCustom {
+
+    Slice<Country> findSlice(Specification<Country> specification, Pageable pageable);
+
+    Page<CountryResponseDTO> findAllProjected(Specification<Country> specification, Pageable pageable);
+
+    Slice<CountryResponseDTO> findSliceProjected(Specification<Country> specification, Pageable pageable);
+
+    Stream<CountryResponseDTO> streamProjected(Specification<Country> specification, Sort sort);
+
+    List<Country> insertAll(List<Country> countries);
+
+}
@@ -0,0 +1,149 @@
+package com.example.country.data.repository;
+
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.entity.Country;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CountryRepositoryCustomImpl implements CountryRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    @Override
+    public Slice<Country> findSlice(Specification<Country> specification, Pageable pageable) {
+        return toSlice(
+                select(Country.class, specification, pageable.getSort(), (root, builder) -> root),
+                pageable);
+    }
+
+    // Projections select straight into the DTO, so no entities are hydrated or tracked by the persistence context
+    @Override
+    public Page<CountryResponseDTO> findAllProjected(Specification<Country> specification, Pageable pageable) {
+        final var content = select(CountryResponseDTO.class, specification, pageable.getSort(), CountryRepositoryCustomImpl::responseDTO)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<CountryResponseDTO> findSliceProjected(Specification<Country> specification, Pageable pageable) {
+        return toSlice(
+                select(CountryResponseDTO.class, specification, pageable.getSort(), CountryRepositoryCustomImpl::responseDTO),
+                pageable);
+    }
+
+    // Forward-only server-side cursor, must be consumed and closed inside the caller's read-only transaction
+    @Override
+    public Stream<CountryResponseDTO> streamProjected(Specification<Country> specification, Sort sort) {
+        return select(CountryResponseDTO.class, specification, sort, CountryRepositoryCustomImpl::responseDTO)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // Flushes once per JDBC batch and clears the context so large batches don't pile up managed entities
+    @Override
+    @Transactional
+    public List<Country> insertAll(List<Country> countries) {
+        for (int i = 0; i < countries.size(); i++) {
+            entityManager.persist(countries.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return countries;
+    }
+
+    private <T> TypedQuery<T> select(Class<T> resultType,
+                                     Specification<Country> specification,
+                                     Sort sort,
+                                     BiFunction<Root<Country>, CriteriaBuilder, Selection<T>> selection
+    ) {
+
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createQuery(resultType);
+        final var root = query.from(Country.class);
+
+        final var predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null)
+            query.where(predicate);
+        query.select(selection.apply(root, builder))
+                .orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return entityManager.createQuery(query);
+
+    }
+
+    private long count(Specification<Country> specification) {
+
+        final var builder = entityManager.getCriteriaBuilder();
+        final var query = builder.createQuery(Long.class);
+        final var root = query.from(Country.class);
+
+        final var predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null)
+            query.where(predicate);
+
+        return entityManager.createQuery(query.select(builder.count(root)))
+                .getSingleResult();
+
+    }
+
+    // Reads one row past the page instead of running a COUNT query
+    private static <T> Slice<T> toSlice(TypedQuery<T> query, Pageable pageable) {
+
+        final var content = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        final var hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(
+                hasNext ? content.subList(0, pageable.getPageSize()) : content,
+                pageable,
+                hasNext);
+
+    }
+
+    private static Selection<CountryResponseDTO> responseDTO(Root<Country> root, CriteriaBuilder builder) {
+        return builder.construct(
+                CountryResponseDTO.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("code"),
+                root.get("dateCreated"),
+                root.get("dateUpdated"));
+    }
+
+}
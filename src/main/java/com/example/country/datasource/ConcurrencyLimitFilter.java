@@ -0,0 +1,182 @@
+package com.example.country.datasource;
+
+import com.example.country.data.controller.dto.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Virtual threads remove Tomcat's thread cap, so without a limit every excess request would wait inside Hikari
+// for connection-timeout. Requests wait briefly for a permit here instead and are rejected with 503 after that.
+// Every API request may need a connection. Streaming exports hold theirs for the whole download, so they get a
+// small limit of their own and the other requests share the rest of the pool; together they may not exceed it
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/";
+    private static final String EXPORT_PATH = "/export";
+
+    private final int maxInFlight;
+    private final int exportMaxInFlight;
+    private final Semaphore permits;
+    private final Semaphore exportPermits;
+    private final Duration acquireTimeout;
+    private final String apiVersion;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    // max-in-flight 0 takes whatever the exports leave of the pool
+    public ConcurrencyLimitFilter(@Value("${app.concurrency.max-in-flight:0}") int maxInFlight,
+                                  @Value("${app.concurrency.export-max-in-flight:2}") int exportMaxInFlight,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                  @Value("${app.concurrency.acquire-timeout:1s}") Duration acquireTimeout,
+                                  @Value("${app.api.version}") String apiVersion,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        final var apiMaxInFlight = maxInFlight == 0 ? poolSize - exportMaxInFlight : maxInFlight;
+        if (exportMaxInFlight < 1 || apiMaxInFlight < 1 || apiMaxInFlight + exportMaxInFlight > poolSize)
+            throw new IllegalArgumentException(("app.concurrency.max-in-flight (%d) and export-max-in-flight (%d) must be at least 1 " +
+                    "and together at most the connection pool size %d").formatted(apiMaxInFlight, exportMaxInFlight, poolSize));
+        this.maxInFlight = apiMaxInFlight;
+        this.exportMaxInFlight = exportMaxInFlight;
+        // Fair, so waiting requests get permits in arrival order
+        this.permits = new Semaphore(apiMaxInFlight, true);
+        this.exportPermits = new Semaphore(exportMaxInFlight, true);
+        this.acquireTimeout = acquireTimeout;
+        this.apiVersion = apiVersion;
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("country.concurrency.in.flight", permits, semaphore -> apiMaxInFlight - semaphore.availablePermits())
+                .description("API requests holding a concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("country.concurrency.export.in.flight", exportPermits, semaphore -> exportMaxInFlight - semaphore.availablePermits())
+                .description("Streaming exports holding an export permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("country.concurrency.rejected")
+                .description("API requests rejected with 503 after waiting for a permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@Nonnull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request,
+                                    @Nonnull HttpServletResponse response,
+                                    @Nonnull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        final var export = request.getRequestURI().endsWith(EXPORT_PATH);
+        final var limit = export ? exportPermits : permits;
+        if (!acquire(limit)) {
+            rejected.increment();
+            reject(request, response, export ? exportMaxInFlight : maxInFlight);
+            return;
+        }
+
+        var releasedByAsync = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Streaming exports keep their connection after this thread returns, the permit goes with them
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(limit));
+                releasedByAsync = true;
+            }
+        } finally {
+            if (!releasedByAsync)
+                limit.release();
+        }
+
+    }
+
+    private boolean acquire(Semaphore limit) {
+        try {
+            return limit.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, int limit) throws IOException {
+
+        log.warn("Too many concurrent requests. uri: {}, limit: {}", request.getRequestURI(), limit);
+
+        ApiError apiError = ApiError.builder()
+                .apiVersion(apiVersion)
+                .code(HttpStatus.SERVICE_UNAVAILABLE.toString())
+                .message("Service unavailable. Too many concurrent requests")
+                .domain(request.getRequestURI())
+                .reason("Too many concurrent requests")
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, acquireTimeout.toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), apiError);
+
+    }
+
+    // Timeout and error are followed by complete, the flag releases the permit once
+    private static class ReleasingListener implements AsyncListener {
+
+        private final Semaphore limit;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingListener(Semaphore limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true))
+                limit.release();
+        }
+
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.example.country.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,22 @@
+package com.example.country.datasource;
+
+public final class PrimaryReadContext {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = ThreadLocal.withInitial(() -> false);
+
+    private PrimaryReadContext() {
+    }
+
+    public static void forcePrimary() {
+        FORCE_PRIMARY.set(true);
+    }
+
+    public static boolean isPrimaryForced() {
+        return FORCE_PRIMARY.get();
+    }
+
+    public static void clear() {
+        FORCE_PRIMARY.remove();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.example.country.datasource;
+
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+
+// Pins a client's reads to the primary for a short window after its own write, so replica lag is never visible to the writer
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "country-read-primary-until";
+
+    private static final Set<String> READ_METHODS = Set.of(
+            HttpMethod.GET.name(),
+            HttpMethod.HEAD.name(),
+            HttpMethod.OPTIONS.name());
+
+    private final Duration stickyWindow;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(@Value("${app.datasource.replica.sticky-window:5s}") Duration stickyWindow) {
+        this(stickyWindow, Clock.systemUTC());
+    }
+
+    ReadYourWritesFilter(Duration stickyWindow, Clock clock) {
+        this.stickyWindow = stickyWindow;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request,
+                                    @Nonnull HttpServletResponse response,
+                                    @Nonnull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        final var now = clock.millis();
+        final var write = !READ_METHODS.contains(request.getMethod());
+
+        if (write && !stickyWindow.isZero())
+            // Set before the chain runs, the response may already be committed afterwards
+            response.addCookie(stickyCookie(now + stickyWindow.toMillis()));
+
+        if (write || isSticky(request, now))
+            PrimaryReadContext.forcePrimary();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryReadContext.clear();
+        }
+
+    }
+
+    private Cookie stickyCookie(long until) {
+        final var cookie = new Cookie(COOKIE_NAME, String.valueOf(until));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, stickyWindow.toSeconds()));
+        return cookie;
+    }
+
+    private static boolean isSticky(HttpServletRequest request, long now) {
+        if (request.getCookies() == null)
+            return false;
+        return Arrays.stream(request.getCookies())
+                .filter(cookie -> COOKIE_NAME.equals(cookie.getName()))
+                .anyMatch(cookie -> parseUntil(cookie.getValue()) > now);
+    }
+
+    private static long parseUntil(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return 0L;
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.example.country.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Objects;
+
+// Statements run by one API request, recorded as country.sql.statements per method and uri pattern and, when
+// app.sql.statement-count.header is on, returned in X-Sql-Statement-Count. Streaming exports write their rows
+// after this thread returns, so only the statements before the response started are counted for them
+@Component
+@ConditionalOnProperty(prefix = "app.sql.statement-count", name = "enabled", matchIfMissing = true)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Sql-Statement-Count";
+
+    private static final String API_PATH = "/api/";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlStatementCounter counter;
+    private final boolean header;
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementCountFilter(SqlStatementCounter counter,
+                                   @Value("${app.sql.statement-count.header:false}") boolean header,
+                                   MeterRegistry meterRegistry) {
+        this.counter = counter;
+        this.header = header;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@Nonnull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request,
+                                    @Nonnull HttpServletResponse response,
+                                    @Nonnull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        counter.start();
+        try {
+            if (header) {
+                final var counting = new CountingResponse(response);
+                filterChain.doFilter(request, counting);
+                // Bodiless answers such as 204 and 304 are still open here
+                counting.writeCount();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            final var count = counter.stop();
+            DistributionSummary.builder("country.sql.statements")
+                    .description("SQL statements executed per API request")
+                    .baseUnit("statements")
+                    .serviceLevelObjectives(1, 2, 3, 5, 10, 25)
+                    .tag("method", request.getMethod())
+                    .tag("uri", Objects.toString(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), UNKNOWN_URI))
+                    .register(meterRegistry)
+                    .record(count);
+        }
+
+    }
+
+    // Headers can't change once the body starts, so the count so far is set just before that happens
+    private class CountingResponse extends HttpServletResponseWrapper {
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void writeCount() {
+            if (!isCommitted())
+                setIntHeader(HEADER, counter.current());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeCount();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeCount();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeCount();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeCount();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeCount();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeCount();
+            super.sendRedirect(location);
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.example.country.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// Counts JDBC round trips on the current thread between start() and stop(): a JDBC batch counts once, failed
+// statements count too. Work outside a started scope (Flyway, background refreshes, COPY) is not counted
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private final ThreadLocal<int[]> counts = new ThreadLocal<>();
+
+    public void start() {
+        counts.set(new int[1]);
+    }
+
+    public int current() {
+        final var count = counts.get();
+        return count == null ? 0 : count[0];
+    }
+
+    public int stop() {
+        final var count = current();
+        counts.remove();
+        return count;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        final var count = counts.get();
+        if (count != null)
+            count[0]++;
+    }
+
+}
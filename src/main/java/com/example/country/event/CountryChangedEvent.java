@@ -0,0 +1,51 @@
+package com.example.country.event;
+
+import com.example.country.data.entity.Country;
+
+import java.util.List;
+
+public record CountryChangedEvent(
+
+        ChangeType type,
+
+        List<Country> countries
+
+) {
+
+    public static CountryChangedEvent created(Country country) {
+        return new CountryChangedEvent(ChangeType.CREATED, List.of(country));
+    }
+
+    public static CountryChangedEvent created(List<Country> countries) {
+        return new CountryChangedEvent(ChangeType.CREATED, List.copyOf(countries));
+    }
+
+    // Bulk imports don't materialize the inserted rows, listeners have to reload instead
+    public static CountryChangedEvent imported() {
+        return new CountryChangedEvent(ChangeType.IMPORTED, List.of());
+    }
+
+    public static CountryChangedEvent updated(Country country) {
+        return new CountryChangedEvent(ChangeType.UPDATED, List.of(country));
+    }
+
+    public static CountryChangedEvent updated(List<Country> countries) {
+        return new CountryChangedEvent(ChangeType.UPDATED, List.copyOf(countries));
+    }
+
+    public static CountryChangedEvent deleted(Country country) {
+        return new CountryChangedEvent(ChangeType.DELETED, List.of(country));
+    }
+
+    public static CountryChangedEvent deleted(List<Country> countries) {
+        return new CountryChangedEvent(ChangeType.DELETED, List.copyOf(countries));
+    }
+
+    public enum ChangeType {
+        CREATED,
+        IMPORTED,
+        UPDATED,
+        DELETED
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.country.ex;
+
+import java.util.List;
+
+public class CountriesAlreadyExistException extends RuntimeException {
+
+    private final List<Conflict> conflicts;
+
+    public CountriesAlreadyExistException(String message, List<Conflict> conflicts) {
+        super(message);
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public List<Conflict> getConflicts() {
+        return conflicts;
+    }
+
+    public record Conflict(int index, String name, String code) {
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.example.country.ex;
+
+public class CountryWriteBufferUnavailableException extends RuntimeException {
+    public CountryWriteBufferUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.country.ex;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
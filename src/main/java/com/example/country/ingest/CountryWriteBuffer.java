@@ -0,0 +1,262 @@
+package com.example.country.ingest;
+
+import com.example.country.data.entity.Country;
+import com.example.country.data.repository.CountryBulkRepository;
+import com.example.country.event.CountryChangedEvent;
+import com.example.country.ex.CountryAlreadyExistsException;
+import com.example.country.ex.CountryWriteBufferUnavailableException;
+import com.example.country.util.DateUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Group commit for POST /countries: creates wait in a bounded queue and one flusher thread inserts them
+// every flush-interval or max-batch-size rows with one statement in one transaction, so a burst of creates
+// shares a single commit. The queue bounds memory, a full queue rejects creates with 503 instead of growing
+@Slf4j
+@Component
+public class CountryWriteBuffer implements SmartLifecycle {
+
+    private final CountryBulkRepository countryBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Duration resultTimeout;
+    private final BlockingQueue<PendingCreate> queue;
+    private final DistributionSummary batchSize;
+    private final Timer queueWait;
+    private final Timer flushTime;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public CountryWriteBuffer(CountryBulkRepository countryBulkRepository,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.ingest.group-commit.enabled:false}") boolean enabled,
+                              @Value("${app.ingest.group-commit.capacity:10000}") int capacity,
+                              @Value("${app.ingest.group-commit.max-batch-size:100}") int maxBatchSize,
+                              @Value("${app.ingest.group-commit.flush-interval:5ms}") Duration flushInterval,
+                              @Value("${app.ingest.group-commit.offer-timeout:100ms}") Duration offerTimeout,
+                              @Value("${app.ingest.group-commit.result-timeout:30s}") Duration resultTimeout) {
+        this.countryBulkRepository = countryBulkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.resultTimeout = resultTimeout;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("country.write.buffer.queue.size", queue, BlockingQueue::size)
+                .description("Creates waiting for the next group commit")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("country.write.buffer.batch.size")
+                .description("Creates inserted by one group commit")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("country.write.buffer.queue.wait")
+                .description("Time a create waits in the queue before its group commit starts")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.flushTime = Timer.builder("country.write.buffer.flush")
+                .description("Time of one group commit, insert and commit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("country.write.buffer.rejected")
+                .description("Creates rejected with 503 because the queue stayed full")
+                .register(meterRegistry);
+    }
+
+    // Blocks the request thread until its batch is committed, cheap with virtual threads. Bounded by result-timeout,
+    // after which the create is answered with 503 although its batch may still commit it
+    public Country add(Country country) {
+
+        final var pending = new PendingCreate(country.getName(), country.getCode(), System.nanoTime(), new CompletableFuture<>());
+        if (!offer(pending)) {
+            rejected.increment();
+            throw new CountryWriteBufferUnavailableException("Country write buffer is full");
+        }
+        // Lost the race with stop(): nobody is left to flush the create, unless the final drain already took it
+        if (!running && queue.remove(pending))
+            throw new CountryWriteBufferUnavailableException("Country write buffer is stopped");
+
+        final Optional<Country> added;
+        try {
+            added = pending.result().get(resultTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            queue.remove(pending);
+            throw new CountryWriteBufferUnavailableException("Timed out waiting for the group commit");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CountryWriteBufferUnavailableException("Interrupted while waiting for the group commit");
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(ex.getCause());
+        }
+        return added.orElseThrow(() -> new CountryAlreadyExistsException("Country already exists"));
+
+    }
+
+    @Override
+    public void start() {
+        if (!enabled)
+            return;
+        running = true;
+        flusher = Thread.ofPlatform()
+                .name("country-write-buffer")
+                .daemon()
+                .start(this::run);
+    }
+
+    // Creates already queued are still committed, the flusher exits once the queue is empty
+    @Override
+    public void stop() {
+        if (!running)
+            return;
+        running = false;
+        try {
+            flusher.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        final var left = new ArrayList<PendingCreate>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.result().completeExceptionally(
+                new CountryWriteBufferUnavailableException("Country write buffer is stopped")));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private boolean offer(PendingCreate pending) {
+        try {
+            return queue.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        final var batch = new ArrayList<PendingCreate>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                final var first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+                // The interval counts from the oldest create, so no create waits longer than flush-interval
+                final var deadline = first.enqueuedAt() + flushInterval.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    final var next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null)
+                        break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable ex) {
+                // An Error out of the flush must neither leave its creates waiting nor end the flusher,
+                // creates already answered by flush() are not touched again
+                log.error("Group commit failed. creates: {}", batch.size(), ex);
+                final var failure = new CountryWriteBufferUnavailableException("Group commit failed");
+                batch.forEach(pending -> pending.result().completeExceptionally(failure));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingCreate> batch) {
+
+        final var start = System.nanoTime();
+        batchSize.record(batch.size());
+        batch.forEach(pending -> queueWait.record(start - pending.enqueuedAt(), TimeUnit.NANOSECONDS));
+
+        final List<Country> inserted;
+        try {
+            inserted = transactionTemplate.execute(status -> {
+                final var countries = countryBulkRepository.insertAllIfAbsent(
+                        batch.stream().map(pending -> Country.builder().name(pending.name()).code(pending.code()).build()).toList(),
+                        DateUtil.getCurrentTimestamp());
+                if (!countries.isEmpty())
+                    eventPublisher.publishEvent(CountryChangedEvent.created(countries));
+                return countries;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Group commit failed. creates: {}, message: {}", batch.size(), ex.getMessage());
+            batch.forEach(pending -> pending.result().completeExceptionally(ex));
+            return;
+        } finally {
+            flushTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        complete(batch, inserted);
+
+    }
+
+    // Rows are matched back by name. Creates are taken in batch order, so of two creates with the same name
+    // the first one gets the row, which is also the one the INSERT kept
+    private static void complete(List<PendingCreate> batch, List<Country> inserted) {
+        final var byName = new HashMap<String, Country>();
+        inserted.forEach(country -> byName.put(lower(country.getName()), country));
+        for (var pending : batch) {
+            final var country = byName.get(lower(pending.name()));
+            if (country != null && country.getCode().equalsIgnoreCase(pending.code())) {
+                byName.remove(lower(pending.name()));
+                pending.result().complete(Optional.of(country));
+            } else {
+                pending.result().complete(Optional.empty());
+            }
+        }
+    }
+
+    private static String lower(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private record PendingCreate(
+
+            String name,
+
+            String code,
+
+            long enqueuedAt,
+
+            CompletableFuture<Optional<Country>> result
+
+    ) {
+    }
+
+}
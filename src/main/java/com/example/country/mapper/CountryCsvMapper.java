@@ -0,0 +1,29 @@
+package com.example.country.mapper;
+
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.jackson.serializer.CustomLocalDateTimeSerializer;
+
+public class CountryCsvMapper {
+
+    public static final String HEADER = "id,name,code,date_created,date_updated";
+
+    private CountryCsvMapper() {
+    }
+
+    public static String toLine(CountryResponseDTO dto) {
+        return String.join(",",
+                String.valueOf(dto.id()),
+                escape(dto.name()),
+                escape(dto.code()),
+                CustomLocalDateTimeSerializer.FORMATTER.format(dto.dateCreated()),
+                CustomLocalDateTimeSerializer.FORMATTER.format(dto.dateUpdated()));
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks and double inner quotes
+    static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
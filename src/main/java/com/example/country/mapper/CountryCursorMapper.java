@@ -0,0 +1,85 @@
+package com.example.country.mapper;
+
+import com.example.country.ex.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class CountryCursorMapper {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    private static final String ID = "id";
+    private static final Set<String> STRING_PROPERTIES = Set.of("name", "code");
+    private static final Set<String> TIMESTAMP_PROPERTIES = Set.of("dateCreated", "dateUpdated");
+
+    private CountryCursorMapper() {
+    }
+
+    public record CountryCursor(Sort.Order order, KeysetScrollPosition position) {
+
+        public Sort sort() {
+            return Sort.by(order);
+        }
+
+    }
+
+    public static CountryCursor first(Sort sort) {
+        final var order = sort.stream()
+                .findFirst()
+                .orElse(Sort.Order.asc(ID));
+        if (!isSupported(order.getProperty()))
+            throw new InvalidCursorException("Sorting by [%s] is not supported in cursor mode".formatted(order.getProperty()));
+        return new CountryCursor(order, ScrollPosition.keyset());
+    }
+
+    public static CountryCursor fromToken(String token) {
+        try {
+            final var parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0]) || !isSupported(parts[1]))
+                throw new InvalidCursorException("Cursor [%s] is invalid".formatted(token));
+
+            final var order = new Sort.Order(Sort.Direction.fromString(parts[2]), parts[1]);
+            final Map<String, Object> keys = new LinkedHashMap<>();
+            if (!ID.equals(order.getProperty()))
+                keys.put(order.getProperty(), parseValue(order.getProperty(), parts[4]));
+            keys.put(ID, Long.valueOf(parts[3]));
+
+            return new CountryCursor(order, ScrollPosition.forward(keys));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor [%s] is invalid".formatted(token));
+        }
+    }
+
+    public static String toToken(Sort.Order order, KeysetScrollPosition position) {
+        final var keys = position.getKeys();
+        final var raw = String.join(SEPARATOR,
+                VERSION,
+                order.getProperty(),
+                order.getDirection().name(),
+                String.valueOf(keys.get(ID)),
+                ID.equals(order.getProperty()) ? "" : String.valueOf(keys.get(order.getProperty())));
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isSupported(String property) {
+        return ID.equals(property) || STRING_PROPERTIES.contains(property) || TIMESTAMP_PROPERTIES.contains(property);
+    }
+
+    private static Object parseValue(String property, String value) {
+        return TIMESTAMP_PROPERTIES.contains(property)
+                ? Timestamp.valueOf(value)
+                : value;
+    }
+
+}
@@ -1,11 +1,21 @@
 package com.example.country.mapper;
 
 import com.example.country.data.controller.dto.AddCountryRequestDTO;
+import com.example.country.data.controller.dto.BulkResultDTO;
+import com.example.country.data.controller.dto.BulkUpdateItemDTO;
 import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.CursorPageResponseDTO;
 import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
 import com.example.country.data.controller.dto.UpdateCountryRequestDTO;
 import com.example.country.data.entity.Country;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.sql.Timestamp;
+import java.util.List;
 
 public class CountryMapper {
 
@@ -26,6 +36,31 @@ public class CountryMapper {
                 .build();
     }
 
+    public static Country fromBulkUpdateDTO(BulkUpdateItemDTO requestDTO) {
+        return Country.builder()
+                .id(requestDTO.id())
+                .name(requestDTO.name())
+                .code(requestDTO.code())
+                .build();
+    }
+
+    public static BulkResultDTO toBulkResult(List<Country> countries) {
+        return BulkResultDTO.builder()
+                .affected(countries.size())
+                .ids(countries.stream().map(Country::getId).toList())
+                .build();
+    }
+
+    public static Country fromDTO(CountryResponseDTO dto) {
+        return Country.builder()
+                .id(dto.id())
+                .name(dto.name())
+                .code(dto.code())
+                .dateCreated(Timestamp.valueOf(dto.dateCreated()))
+                .dateUpdated(Timestamp.valueOf(dto.dateUpdated()))
+                .build();
+    }
+
     public static CountryResponseDTO toDTO(Country entity) {
         return CountryResponseDTO.builder()
                 .id(entity.getId())
@@ -36,26 +71,26 @@ public class CountryMapper {
                 .build();
     }
 
-    public static PageResponseDTO toPage(Page<Country> page) {
+    public static PageResponseDTO toPage(Page<CountryResponseDTO> page) {
         return PageResponseDTO.builder()
                 .currentPage(page.getPageable().getPageNumber())
                 .itemsPerPage(page.getSize())
                 .totalItems(page.getTotalElements())
                 .totalPages(page.getTotalPages())
-                .data(page.getContent().stream().map(CountryMapper::toDTO).toList())
+                .totalKind(TotalKind.EXACT)
+                .hasNext(page.hasNext())
+                .data(page.getContent())
                 .build();
     }
 
-    public static Country update(Country oldCountry, Country newCountry) {
-        return Country.builder()
-                .id(oldCountry.getId())
-                .name(newCountry.getName() == null || newCountry.getName().isEmpty()
-                        ? oldCountry.getName()
-                        : newCountry.getName())
-                .code(newCountry.getCode() == null || newCountry.getCode().isEmpty()
-                        ? oldCountry.getCode()
-                        : newCountry.getCode())
-                .dateCreated(oldCountry.getDateCreated())
+    public static CursorPageResponseDTO toCursorPage(Window<Country> window, Sort.Order order, int itemsPerPage) {
+        return CursorPageResponseDTO.builder()
+                .itemsPerPage(itemsPerPage)
+                .hasNext(window.hasNext())
+                .nextCursor(window.hasNext()
+                        ? CountryCursorMapper.toToken(order, (KeysetScrollPosition) window.positionAt(window.size() - 1))
+                        : null)
+                .data(window.getContent().stream().map(CountryMapper::toDTO).toList())
                 .build();
     }
 
@@ -0,0 +1,236 @@
+package com.example.country.search;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.entity.Country;
+import com.example.country.event.CountryChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Answers the partial name/code filters from memory with the ids of matching countries, rows are then fetched by id.
+// Local writes are applied from their event, the app.country_catalog_version the index is at tells it whether
+// other instances wrote in between. Ids are kept as int to halve the posting lists, larger ids fail the load.
+// V4 advances ids by 50 per column-default insert, so that limit is reached after about 43 million such inserts
+@Slf4j
+@Component
+public class CountryTextIndex implements SmartLifecycle {
+
+    private static final String SELECT_ALL = """
+            SELECT id, name, code
+            FROM app.country
+            ORDER BY id""";
+
+    private static final String SELECT_VERSION = """
+            SELECT version
+            FROM app.country_catalog_version""";
+
+    private final TrigramIndex names = new TrigramIndex();
+    private final TrigramIndex codes = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxMatches;
+    private final int fetchSize;
+
+    private volatile boolean running;
+    private volatile long version = -1;
+
+    public CountryTextIndex(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.search.trigram.enabled:false}") boolean enabled,
+                            @Value("${app.search.trigram.max-matches:1000}") int maxMatches,
+                            @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Read-write, so the load runs on the primary and streams through a cursor. Version and rows from one
+        // snapshot, in a new transaction because local writes read the version from afterCommit
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.enabled = enabled;
+        this.maxMatches = maxMatches;
+        this.fetchSize = fetchSize;
+    }
+
+    // Empty when the filter has nothing to look up, a field is too short for a trigram,
+    // the index is (re)loading or behind the database, or there are too many matches for a lookup by id to pay off
+    public Optional<int[]> match(CountryFilter filter) {
+
+        if (!running)
+            return Optional.empty();
+
+        final var name = hasText(filter.name()) ? filter.name() : null;
+        final var code = hasText(filter.code()) ? filter.code() : null;
+        if (name == null && code == null)
+            return Optional.empty();
+        if ((name != null && !TrigramIndex.isSearchable(name)) || (code != null && !TrigramIndex.isSearchable(code)))
+            return Optional.empty();
+
+        // One primary key lookup, read in the caller's transaction so it is as fresh as the rows fetched by id
+        if (currentVersion() > version) {
+            requestRebuild();
+            return Optional.empty();
+        }
+
+        if (!lock.readLock().tryLock())
+            return Optional.empty();
+        try {
+            var ids = name != null ? names.search(name) : codes.search(code);
+            if (name != null && code != null && ids.length > 0)
+                ids = intersect(ids, codes.search(code));
+            return ids.length > maxMatches ? Optional.empty() : Optional.of(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            codes.clear();
+            version = Objects.requireNonNull(transactionTemplate.execute(status -> {
+                final var loadedVersion = currentVersion();
+                jdbcTemplate.query(
+                        connection -> {
+                            final var statement = connection.prepareStatement(SELECT_ALL);
+                            statement.setFetchSize(fetchSize);
+                            return statement;
+                        },
+                        rs -> {
+                            final int id = toIndexId(rs.getLong("id"));
+                            names.put(id, rs.getString("name"));
+                            codes.put(id, rs.getString("code"));
+                        });
+                return loadedVersion;
+            }));
+            log.debug("Country text index rebuilt, version: {}, size: {}", version, names.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applied even while a rebuild runs: the lock queues it behind the load and re-applying a change is harmless.
+    // Each writing transaction bumps the version by one, so if it moved by exactly one since the index was current,
+    // that was this write and the index stays current. Otherwise the first match that sees the gap rebuilds
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountryChanged(CountryChangedEvent event) {
+
+        if (!enabled)
+            return;
+        if (event.type() == CountryChangedEvent.ChangeType.IMPORTED) {
+            rebuild();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Country country : event.countries()) {
+                final int id = toIndexId(country.getId());
+                if (event.type() == CountryChangedEvent.ChangeType.DELETED) {
+                    names.remove(id);
+                    codes.remove(id);
+                } else {
+                    names.put(id, country.getName());
+                    codes.put(id, country.getCode());
+                }
+            }
+            final var latest = Objects.requireNonNull(transactionTemplate.execute(status -> currentVersion()));
+            if (latest == version + 1)
+                version = latest;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+    }
+
+    @Override
+    public void start() {
+        if (!enabled)
+            return;
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private long currentVersion() {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject(SELECT_VERSION, Long.class));
+    }
+
+    private void rebuildIfChanged() {
+        final var latest = Objects.requireNonNull(transactionTemplate.execute(status -> currentVersion()));
+        if (latest > version)
+            rebuild();
+    }
+
+    // Off the request thread and at most one at a time, requests fall back to SQL until it is done
+    private void requestRebuild() {
+        if (!rebuildRequested.compareAndSet(false, true))
+            return;
+        Thread.ofVirtual()
+                .name("country-text-index-rebuild")
+                .start(() -> {
+                    try {
+                        rebuildIfChanged();
+                    } catch (RuntimeException ex) {
+                        log.warn("Country text index rebuild failed", ex);
+                    } finally {
+                        rebuildRequested.set(false);
+                    }
+                });
+    }
+
+    private static int toIndexId(long id) {
+        if (id > Integer.MAX_VALUE || id < 0)
+            throw new IllegalStateException("Country id %d is outside the int range of the text index, disable app.search.trigram"
+                    .formatted(id));
+        return (int) id;
+    }
+
+    private static boolean hasText(String text) {
+        return text != null && !text.trim().isEmpty();
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        final var result = new int[Math.min(left.length, right.length)];
+        int count = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j])
+                i++;
+            else if (left[i] > right[j])
+                j++;
+            else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+}
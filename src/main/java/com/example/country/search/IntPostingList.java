@@ -0,0 +1,72 @@
+package com.example.country.search;
+
+import java.util.Arrays;
+
+// Sorted, duplicate-free ids kept in a primitive array, so a posting costs 4 bytes instead of a boxed Integer
+final class IntPostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int size;
+
+    void add(int id) {
+        // Ids mostly arrive in ascending order, from the full load and from the sequence
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0)
+            return;
+        position = -position - 1;
+        ensureCapacity();
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    boolean remove(int id) {
+        final int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0)
+            return false;
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    // Keeps the first count candidates (sorted) that are also in this list and returns how many are left
+    int retainAll(int[] candidates, int count) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < size; i++) {
+            final int position = Arrays.binarySearch(ids, from, size, candidates[i]);
+            if (position >= 0) {
+                candidates[kept++] = candidates[i];
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return kept;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length)
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+    }
+
+}
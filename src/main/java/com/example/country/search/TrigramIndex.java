@@ -0,0 +1,98 @@
+package com.example.country.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Inverted index of one text field for case-insensitive "contains" lookups, not thread-safe
+final class TrigramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final Map<Long, IntPostingList> postings = new HashMap<>();
+    private final Map<Integer, String> values = new HashMap<>();
+
+    void put(int id, String value) {
+        remove(id);
+        final var lowerValue = lower(value);
+        values.put(id, lowerValue);
+        for (long gram : grams(lowerValue))
+            postings.computeIfAbsent(gram, key -> new IntPostingList()).add(id);
+    }
+
+    void remove(int id) {
+        final var lowerValue = values.remove(id);
+        if (lowerValue == null)
+            return;
+        for (long gram : grams(lowerValue)) {
+            final var list = postings.get(gram);
+            if (list != null && list.remove(id) && list.isEmpty())
+                postings.remove(gram);
+        }
+    }
+
+    void clear() {
+        postings.clear();
+        values.clear();
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    // Shorter text has no trigram to look up
+    static boolean isSearchable(String text) {
+        return lower(text).length() >= GRAM_LENGTH;
+    }
+
+    // Sorted ids whose value contains the text ignoring case
+    int[] search(String text) {
+
+        final var lowerText = lower(text);
+        final var lists = new ArrayList<IntPostingList>();
+        for (long gram : grams(lowerText)) {
+            final var list = postings.get(gram);
+            if (list == null)
+                return NO_IDS;
+            lists.add(list);
+        }
+        // Starting from the rarest trigram keeps every following step bounded by the smallest list
+        lists.sort(Comparator.comparingInt(IntPostingList::size));
+
+        final var candidates = lists.get(0).toArray();
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++)
+            count = lists.get(i).retainAll(candidates, count);
+
+        // Sharing all trigrams doesn't mean they are adjacent, so candidates are checked against the value
+        int matched = 0;
+        for (int i = 0; i < count; i++)
+            if (values.get(candidates[i]).contains(lowerText))
+                candidates[matched++] = candidates[i];
+        return Arrays.copyOf(candidates, matched);
+
+    }
+
+    private static List<Long> grams(String lowerValue) {
+        final Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= lowerValue.length(); i++)
+            grams.add(((long) lowerValue.charAt(i) << 32)
+                    | ((long) lowerValue.charAt(i + 1) << 16)
+                    | lowerValue.charAt(i + 2));
+        return List.copyOf(grams);
+    }
+
+    // Same folding as PartialTextSpec
+    private static String lower(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+}
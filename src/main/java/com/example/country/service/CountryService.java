@@ -1,25 +1,56 @@
 package com.example.country.service;
 
 import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.ImportFormat;
+import com.example.country.data.controller.dto.ImportResultDTO;
 import com.example.country.data.entity.Country;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CountryService {
 
     Country add(Country country);
 
+    List<Country> addAll(List<Country> countries);
+
+    ImportResultDTO importCountries(InputStream body, ImportFormat format);
+
     Optional<Country> findById(Long id);
 
-    boolean isCountryExistsByNameOrCode(String name, String code);
+    Optional<Timestamp> findVersionById(Long id);
 
-    boolean isCountryExistsByNameOrCodeAndNotId(String name, String code, Long id);
+    long getCatalogVersion();
 
     Page<Country> findAll(CountryFilter countryFilter, Pageable pageable);
 
-    Country update(Country oldCountry, Country newCountry);
+    Page<CountryResponseDTO> findAllProjected(CountryFilter countryFilter, Pageable pageable);
+
+    Slice<CountryResponseDTO> findSliceProjected(CountryFilter countryFilter, Pageable pageable);
+
+    long estimateCount(CountryFilter countryFilter);
+
+    void export(CountryFilter countryFilter, Consumer<CountryResponseDTO> consumer);
+
+    Window<Country> findAll(CountryFilter countryFilter, KeysetScrollPosition position, Sort sort, int limit);
+
+    Country update(Long id, Country newCountry);
+
+    void delete(Long id);
+
+    List<Country> updateAll(List<Country> patches);
+
+    List<Country> deleteAll(List<Long> ids);
 
-    void delete(Country country);
+    List<Country> deleteAll(CountryFilter countryFilter);
 }
@@ -1,65 +1,376 @@
 package com.example.country.service.impl;
 
+import com.example.country.cache.CountryCountCache;
+import com.example.country.cache.CountryUniquenessFilter;
 import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.ImportFormat;
+import com.example.country.data.controller.dto.ImportResultDTO;
 import com.example.country.data.entity.Country;
+import com.example.country.data.repository.CountryBulkRepository;
 import com.example.country.data.repository.CountryRepository;
-import com.example.country.mapper.CountryMapper;
+import com.example.country.event.CountryChangedEvent;
+import com.example.country.ingest.CountryWriteBuffer;
+import com.example.country.ex.CountriesAlreadyExistException;
+import com.example.country.ex.CountryAlreadyExistsException;
+import com.example.country.ex.CountryNotFoundException;
+import com.example.country.search.CountryTextIndex;
 import com.example.country.service.CountryService;
 import com.example.country.specs.CountrySpecs;
 import com.example.country.util.DateUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
+@Timed(value = "country.service", description = "CountryService calls by implementation and method")
 @Service
 @RequiredArgsConstructor
 public class CountryServiceImpl implements CountryService {
 
     private final CountryRepository countryRepository;
+    private final CountryBulkRepository countryBulkRepository;
     private final CountrySpecs countrySpecs;
+    private final CountryCountCache countryCountCache;
+    private final CountryTextIndex countryTextIndex;
+    private final CountryUniquenessFilter countryUniquenessFilter;
+    private final CountryWriteBuffer countryWriteBuffer;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Country add(Country country) {
+        // Group commit publishes the event itself, once per batch
+        if (countryWriteBuffer.isRunning())
+            return countryWriteBuffer.add(country);
+        final var added = countryRepository.insertIfAbsent(
+                        country.getName(),
+                        country.getCode(),
+                        DateUtil.getCurrentTimestamp())
+                .orElseThrow(() -> new CountryAlreadyExistsException("Country already exists"));
+        eventPublisher.publishEvent(CountryChangedEvent.created(added));
+        return added;
+    }
+
+    @Override
+    @Transactional
+    public List<Country> addAll(List<Country> countries) {
+
+        final var conflicts = findConflicts(countries);
+        if (!conflicts.isEmpty())
+            throw new CountriesAlreadyExistException("Countries already exist", conflicts);
+
         final var now = DateUtil.getCurrentTimestamp();
-        return countryRepository.save(
-                country.setDateCreated(now)
-                        .setDateUpdated(now)
-        );
+        countries.forEach(country -> country.setDateCreated(now).setDateUpdated(now));
+
+        final List<Country> added;
+        try {
+            added = countryRepository.insertAll(countries);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent insert won the race after the conflict check
+            if (isUniqueViolation(ex))
+                throw new CountryAlreadyExistsException("Country already exists");
+            throw ex;
+        }
+        eventPublisher.publishEvent(CountryChangedEvent.created(added));
+        return added;
+
+    }
+
+    @Override
+    public ImportResultDTO importCountries(InputStream body, ImportFormat format) {
+        final var result = countryBulkRepository.importCountries(body, format, DateUtil.getCurrentTimestamp());
+        if (result.accepted() > 0)
+            eventPublisher.publishEvent(CountryChangedEvent.imported());
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Country> findById(Long id) {
         return countryRepository.findById(id);
     }
 
     @Override
-    public boolean isCountryExistsByNameOrCode(String name, String code) {
-        return countryRepository.existsByNameOrCode(name, code);
+    @Transactional(readOnly = true)
+    public Optional<Timestamp> findVersionById(Long id) {
+        return countryRepository.findDateUpdatedById(id);
     }
 
     @Override
-    public boolean isCountryExistsByNameOrCodeAndNotId(String name, String code, Long id) {
-        return countryRepository.existsByNameOrCodeAndIdNot(name, code, id);
+    @Transactional(readOnly = true)
+    public long getCatalogVersion() {
+        return countryRepository.findCatalogVersion();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Country> findAll(CountryFilter countryFilter, Pageable pageable) {
-        return countryRepository.findAll(countrySpecs.findByCriteria(countryFilter), pageable);
+        return countryTextIndex.match(countryFilter)
+                .map(ids -> toPage(countryRepository.findSlice(countrySpecs.findByIds(ids), pageable), ids))
+                .orElseGet(() -> countryRepository.findAll(countrySpecs.findByCriteria(countryFilter), pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CountryResponseDTO> findAllProjected(CountryFilter countryFilter, Pageable pageable) {
+        return countryTextIndex.match(countryFilter)
+                .map(ids -> toPage(countryRepository.findSliceProjected(countrySpecs.findByIds(ids), pageable), ids))
+                .orElseGet(() -> countryRepository.findAllProjected(countrySpecs.findByCriteria(countryFilter), pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CountryResponseDTO> findSliceProjected(CountryFilter countryFilter, Pageable pageable) {
+        return countryRepository.findSliceProjected(
+                countryTextIndex.match(countryFilter)
+                        .map(countrySpecs::findByIds)
+                        .orElseGet(() -> countrySpecs.findByCriteria(countryFilter)),
+                pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long estimateCount(CountryFilter countryFilter) {
+        final var ids = countryTextIndex.match(countryFilter);
+        if (ids.isPresent())
+            return ids.get().length;
+        return countryCountCache.get(
+                countryFilter,
+                filter -> countryRepository.count(countrySpecs.findByCriteria(filter)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(CountryFilter countryFilter, Consumer<CountryResponseDTO> consumer) {
+        try (var countries = countryRepository.streamProjected(
+                countrySpecs.findByCriteria(countryFilter),
+                Sort.by("id"))) {
+            countries.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Country> findAll(CountryFilter countryFilter, KeysetScrollPosition position, Sort sort, int limit) {
+        return countryRepository.findBy(
+                countrySpecs.findByCriteria(countryFilter),
+                query -> query.sortBy(sort)
+                        .limit(limit)
+                        .scroll(position));
+    }
+
+    @Override
+    public Country update(Long id, Country newCountry) {
+        final Optional<Country> updated;
+        try {
+            updated = countryRepository.updateById(
+                    id,
+                    Objects.requireNonNullElse(newCountry.getName(), ""),
+                    Objects.requireNonNullElse(newCountry.getCode(), ""),
+                    DateUtil.getCurrentTimestamp());
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex))
+                throw new CountryAlreadyExistsException("Country already exists");
+            throw ex;
+        }
+        final var country = updated.orElseThrow(() -> notFound(id));
+        eventPublisher.publishEvent(CountryChangedEvent.updated(country));
+        return country;
+    }
+
+    @Override
+    public void delete(Long id) {
+        final var country = countryRepository.deleteReturningById(id)
+                .orElseThrow(() -> notFound(id));
+        eventPublisher.publishEvent(CountryChangedEvent.deleted(country));
+    }
+
+    // One query for the stored rows plus duplicates inside the batch itself, both ignoring case like the unique indexes
+    private List<CountriesAlreadyExistException.Conflict> findConflicts(List<Country> countries) {
+
+        final var names = countries.stream().map(country -> lower(country.getName())).toList();
+        final var codes = countries.stream().map(country -> lower(country.getCode())).toList();
+
+        final var takenNames = new HashSet<String>();
+        final var takenCodes = new HashSet<String>();
+        if (countryUniquenessFilter.mightExist(names, codes))
+            countryRepository.findAllByLowerNameInOrLowerCodeIn(names, codes).forEach(country -> {
+                takenNames.add(lower(country.getName()));
+                takenCodes.add(lower(country.getCode()));
+            });
+
+        final var conflicts = new ArrayList<CountriesAlreadyExistException.Conflict>();
+        for (int i = 0; i < countries.size(); i++) {
+            // Set.add returns false for a name or code already stored or seen earlier in the batch
+            final var nameTaken = !takenNames.add(names.get(i));
+            final var codeTaken = !takenCodes.add(codes.get(i));
+            if (nameTaken || codeTaken)
+                conflicts.add(new CountriesAlreadyExistException.Conflict(
+                        i,
+                        countries.get(i).getName(),
+                        countries.get(i).getCode()));
+        }
+        return conflicts;
+
+    }
+
+    private static String lower(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    @Transactional
+    public List<Country> updateAll(List<Country> patches) {
+
+        final var stored = StreamSupport.stream(
+                        countryRepository.findAllById(patches.stream().map(Country::getId).toList()).spliterator(),
+                        false)
+                .collect(Collectors.toMap(Country::getId, Function.identity()));
+        final var conflicts = findUpdateConflicts(patches, stored);
+        if (!conflicts.isEmpty())
+            throw new CountriesAlreadyExistException("Countries already exist", conflicts);
+
+        final List<Country> updated;
+        try {
+            updated = countryBulkRepository.updateByIds(
+                    patches,
+                    takenOver(patches, stored, Country::getName),
+                    takenOver(patches, stored, Country::getCode),
+                    DateUtil.getCurrentTimestamp());
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex))
+                throw new CountryAlreadyExistsException("Country already exists");
+            throw ex;
+        }
+        if (!updated.isEmpty())
+            eventPublisher.publishEvent(CountryChangedEvent.updated(updated));
+        return updated;
+
     }
 
     @Override
-    public Country update(Country oldCountry, Country newCountry) {
-        return countryRepository.save(
-                CountryMapper.update(oldCountry, newCountry)
-                        .setDateUpdated(DateUtil.getCurrentTimestamp()));
+    public List<Country> deleteAll(List<Long> ids) {
+        return publishDeleted(countryBulkRepository.deleteByIds(ids));
     }
 
     @Override
-    public void delete(Country country) {
-        countryRepository.delete(country);
+    public List<Country> deleteAll(CountryFilter countryFilter) {
+        return publishDeleted(countryBulkRepository.deleteByFilter(countryFilter));
+    }
+
+    private List<Country> publishDeleted(List<Country> deleted) {
+        if (!deleted.isEmpty())
+            eventPublisher.publishEvent(CountryChangedEvent.deleted(deleted));
+        return deleted;
+    }
+
+    // Checks the state after all patches are applied: against rows outside the update and between patched rows
+    private List<CountriesAlreadyExistException.Conflict> findUpdateConflicts(List<Country> patches,
+                                                                             Map<Long, Country> stored) {
+
+        if (stored.isEmpty())
+            return List.of();
+
+        final var names = new ArrayList<String>();
+        final var codes = new ArrayList<String>();
+        for (Country patch : patches) {
+            final var current = stored.get(patch.getId());
+            names.add(current == null ? null : lower(patchedValue(patch.getName(), current.getName())));
+            codes.add(current == null ? null : lower(patchedValue(patch.getCode(), current.getCode())));
+        }
+
+        final var patchedNames = names.stream().filter(Objects::nonNull).toList();
+        final var patchedCodes = codes.stream().filter(Objects::nonNull).toList();
+        final var takenNames = new HashSet<String>();
+        final var takenCodes = new HashSet<String>();
+        if (countryUniquenessFilter.mightExist(patchedNames, patchedCodes))
+            countryRepository.findAllByLowerNameInOrLowerCodeIn(patchedNames, patchedCodes)
+                    .stream()
+                    .filter(country -> !stored.containsKey(country.getId()))
+                    .forEach(country -> {
+                        takenNames.add(lower(country.getName()));
+                        takenCodes.add(lower(country.getCode()));
+                    });
+
+        final var conflicts = new ArrayList<CountriesAlreadyExistException.Conflict>();
+        for (int i = 0; i < patches.size(); i++) {
+            // Patches for unknown ids don't touch any row
+            if (names.get(i) == null)
+                continue;
+            final var nameTaken = !takenNames.add(names.get(i));
+            final var codeTaken = !takenCodes.add(codes.get(i));
+            if (nameTaken || codeTaken) {
+                final var current = stored.get(patches.get(i).getId());
+                conflicts.add(new CountriesAlreadyExistException.Conflict(
+                        i,
+                        patchedValue(patches.get(i).getName(), current.getName()),
+                        patchedValue(patches.get(i).getCode(), current.getCode())));
+            }
+        }
+        return conflicts;
+
+    }
+
+    // Stored rows whose value another patch moves to, e.g. two countries swapping names. Once the request passed
+    // findUpdateConflicts, each of these rows changes that value itself
+    private static Set<Long> takenOver(List<Country> patches, Map<Long, Country> stored, Function<Country, String> field) {
+        final var targets = new HashMap<String, Long>();
+        for (Country patch : patches) {
+            final var value = field.apply(patch);
+            if (value != null && !value.isEmpty() && stored.containsKey(patch.getId()))
+                targets.put(lower(value), patch.getId());
+        }
+        return stored.values().stream()
+                .filter(current -> {
+                    final var takenBy = targets.get(lower(field.apply(current)));
+                    return takenBy != null && !takenBy.equals(current.getId());
+                })
+                .map(Country::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private static String patchedValue(String patch, String current) {
+        return patch == null || patch.isEmpty() ? current : patch;
+    }
+
+    // The index already knows how many rows match, so the page is read as a slice without a COUNT query
+    private static <T> Page<T> toPage(Slice<T> slice, int[] ids) {
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), ids.length);
+    }
+
+    private static CountryNotFoundException notFound(Long id) {
+        return new CountryNotFoundException("Country with id = [%d] not found".formatted(id));
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        return ex.getMostSpecificCause() instanceof SQLException sqlException
+                && "23505".equals(sqlException.getSQLState());
     }
 
 }
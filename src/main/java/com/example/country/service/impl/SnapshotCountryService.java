@@ -0,0 +1,148 @@
+package com.example.country.service.impl;
+
+import com.example.country.catalog.CountryCatalog;
+import com.example.country.catalog.CountryCatalogSnapshot;
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.ImportFormat;
+import com.example.country.data.controller.dto.ImportResultDTO;
+import com.example.country.data.entity.Country;
+import com.example.country.mapper.CountryMapper;
+import com.example.country.service.CountryService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// app.catalog.engine=snapshot: reads are answered from CountryCatalog, writes and scrolling go to CountryServiceImpl
+// Delegated calls show up in country.service twice, once per class tag
+@Timed(value = "country.service", description = "CountryService calls by implementation and method")
+@Primary
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.catalog", name = "engine", havingValue = "snapshot")
+public class SnapshotCountryService implements CountryService {
+
+    private final CountryServiceImpl delegate;
+    private final CountryCatalog countryCatalog;
+
+    @Override
+    public Country add(Country country) {
+        return delegate.add(country);
+    }
+
+    @Override
+    public List<Country> addAll(List<Country> countries) {
+        return delegate.addAll(countries);
+    }
+
+    @Override
+    public ImportResultDTO importCountries(InputStream body, ImportFormat format) {
+        return delegate.importCountries(body, format);
+    }
+
+    @Override
+    public Optional<Country> findById(Long id) {
+        return countryCatalog.snapshot().findById(id).map(CountryMapper::fromDTO);
+    }
+
+    @Override
+    public Optional<Timestamp> findVersionById(Long id) {
+        return countryCatalog.snapshot().findById(id).map(country -> Timestamp.valueOf(country.dateUpdated()));
+    }
+
+    // The version the snapshot was loaded at, so a list ETag never runs ahead of the rows served with it
+    @Override
+    public long getCatalogVersion() {
+        return countryCatalog.snapshot().version();
+    }
+
+    @Override
+    public Page<Country> findAll(CountryFilter countryFilter, Pageable pageable) {
+        return findAllProjected(countryFilter, pageable).map(CountryMapper::fromDTO);
+    }
+
+    @Override
+    public Page<CountryResponseDTO> findAllProjected(CountryFilter countryFilter, Pageable pageable) {
+        if (!CountryCatalogSnapshot.supports(pageable.getSort()))
+            return delegate.findAllProjected(countryFilter, pageable);
+        final var matching = countryCatalog.snapshot().find(countryFilter, pageable.getSort());
+        return new PageImpl<>(page(matching, pageable), pageable, matching.size());
+    }
+
+    @Override
+    public Slice<CountryResponseDTO> findSliceProjected(CountryFilter countryFilter, Pageable pageable) {
+        if (!CountryCatalogSnapshot.supports(pageable.getSort()))
+            return delegate.findSliceProjected(countryFilter, pageable);
+        final var matching = countryCatalog.snapshot().find(countryFilter, pageable.getSort());
+        return new SliceImpl<>(
+                page(matching, pageable),
+                pageable,
+                pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() < matching.size());
+    }
+
+    // The snapshot count is exact and costs no query
+    @Override
+    public long estimateCount(CountryFilter countryFilter) {
+        return countryCatalog.snapshot().count(countryFilter);
+    }
+
+    @Override
+    public void export(CountryFilter countryFilter, Consumer<CountryResponseDTO> consumer) {
+        delegate.export(countryFilter, consumer);
+    }
+
+    @Override
+    public Window<Country> findAll(CountryFilter countryFilter, KeysetScrollPosition position, Sort sort, int limit) {
+        return delegate.findAll(countryFilter, position, sort, limit);
+    }
+
+    @Override
+    public Country update(Long id, Country newCountry) {
+        return delegate.update(id, newCountry);
+    }
+
+    @Override
+    public void delete(Long id) {
+        delegate.delete(id);
+    }
+
+    @Override
+    public List<Country> updateAll(List<Country> patches) {
+        return delegate.updateAll(patches);
+    }
+
+    @Override
+    public List<Country> deleteAll(List<Long> ids) {
+        return delegate.deleteAll(ids);
+    }
+
+    @Override
+    public List<Country> deleteAll(CountryFilter countryFilter) {
+        return delegate.deleteAll(countryFilter);
+    }
+
+    private static List<CountryResponseDTO> page(List<CountryResponseDTO> matching, Pageable pageable) {
+        if (pageable.isUnpaged())
+            return matching;
+        final var from = (int) Math.min(pageable.getOffset(), matching.size());
+        final var to = Math.min(from + pageable.getPageSize(), matching.size());
+        return matching.subList(from, to);
+    }
+
+}
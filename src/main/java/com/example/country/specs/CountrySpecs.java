@@ -9,12 +9,14 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class CountrySpecs implements EntitySpecification<Specification<Country>, CountryFilter> {
 
+    private static final String COUNTRY_ID = "id";
     private static final String COUNTRY_NAME = "name";
     private static final String COUNTRY_CODE = "code";
 
@@ -36,4 +38,14 @@ public class CountrySpecs implements EntitySpecification<Specification<Country>,
 
     }
 
+    public Specification<Country> findByIds(int[] ids) {
+
+        final var values = Arrays.stream(ids).mapToObj(Long::valueOf).toList();
+
+        return (root, query, builder) -> values.isEmpty()
+                ? builder.disjunction()
+                : root.get(COUNTRY_ID).in(values);
+
+    }
+
 }
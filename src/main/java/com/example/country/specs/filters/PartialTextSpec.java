@@ -1,5 +1,6 @@
 package com.example.country.specs.filters;
 
+import com.example.country.util.LikeUtil;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -20,11 +21,13 @@ public class PartialTextSpec {
             @Nonnull List<Predicate> predicates
     ) {
         if (text != null && !text.trim().isEmpty())
+            // lower(field) LIKE '%text%' matches the pg_trgm GIN indexes from V2__country_trigram_indexes.sql
             predicates.add(
                     builder.like(
                             builder.lower(
                                     root.get(fieldName)),
-                            "%" + text.toLowerCase() + "%"));
+                            LikeUtil.containsPattern(text),
+                            LikeUtil.ESCAPE_CHAR));
     }
 
 }
@@ -0,0 +1,20 @@
+package com.example.country.util;
+
+import java.sql.Timestamp;
+
+public class ETagUtil {
+
+    private ETagUtil(){}
+
+    // Weak: date_updated has millisecond precision, so two writes within the same millisecond share a tag.
+    // It is only a revalidation hint for GET, not a byte-for-byte validator for ranges or conditional writes
+    public static String countryETag(Long id, Timestamp dateUpdated) {
+        return "W/\"%d-%d\"".formatted(id, dateUpdated.getTime());
+    }
+
+    // Same for every page and filter of one catalog version, the URL tells the representations apart
+    public static String catalogETag(long version) {
+        return "\"catalog-%d\"".formatted(version);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.example.country.util;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Locale;
+
+// LIKE patterns for lower(column) LIKE ? ESCAPE '\', shared by the specs, the bulk SQL and the reactive repository
+public class LikeUtil {
+
+    public static final char ESCAPE_CHAR = '\\';
+
+    private LikeUtil() {
+    }
+
+    @Nonnull
+    public static String containsPattern(@Nonnull String text) {
+        return "%" + escapeLike(text.toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    @Nonnull
+    static String escapeLike(@Nonnull String text) {
+        var result = new StringBuilder(text.length() + 4);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ESCAPE_CHAR || c == '%' || c == '_')
+                result.append(ESCAPE_CHAR);
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+}
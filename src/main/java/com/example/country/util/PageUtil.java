@@ -0,0 +1,48 @@
+package com.example.country.util;
+
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
+import org.springframework.data.domain.Slice;
+
+// Page shapes built from a slice, shared by the JPA and the reactive stacks
+public class PageUtil {
+
+    private PageUtil() {
+    }
+
+    public static PageResponseDTO toSlicePage(Slice<CountryResponseDTO> slice) {
+        return PageResponseDTO.builder()
+                .currentPage(slice.getPageable().getPageNumber())
+                .itemsPerPage(slice.getSize())
+                .totalKind(TotalKind.NONE)
+                .hasNext(slice.hasNext())
+                .data(slice.getContent())
+                .build();
+    }
+
+    public static PageResponseDTO toEstimatedPage(Slice<CountryResponseDTO> slice, long estimatedTotal) {
+        // The slice itself bounds the estimate: the last page, or an empty first one, gives the exact total.
+        // An empty page past the end only tells that there are at most offset rows
+        final var offset = slice.getPageable().getOffset();
+        final var seen = offset + slice.getNumberOfElements();
+        final var exact = !slice.hasNext() && (slice.hasContent() || offset == 0);
+        final long totalItems;
+        if (slice.hasNext())
+            totalItems = Math.max(estimatedTotal, seen + 1);
+        else if (exact)
+            totalItems = seen;
+        else
+            totalItems = Math.min(estimatedTotal, offset);
+        return PageResponseDTO.builder()
+                .currentPage(slice.getPageable().getPageNumber())
+                .itemsPerPage(slice.getSize())
+                .totalItems(totalItems)
+                .totalPages((int) ((totalItems + slice.getSize() - 1) / slice.getSize()))
+                .totalKind(exact ? TotalKind.EXACT : TotalKind.ESTIMATED)
+                .hasNext(slice.hasNext())
+                .data(slice.getContent())
+                .build();
+    }
+
+}
@@ -0,0 +1,7 @@
+create extension if not exists pg_trgm;
+
+create index if not exists country_name_trgm_idx
+    on app.country using gin (lower(name) gin_trgm_ops);
+
+create index if not exists country_code_trgm_idx
+    on app.country using gin (lower(code) gin_trgm_ops);
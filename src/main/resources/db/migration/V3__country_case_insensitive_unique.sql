@@ -0,0 +1,12 @@
+create unique index if not exists country_name_lower_uidx
+    on app.country (lower(name));
+
+create unique index if not exists country_code_lower_uidx
+    on app.country (lower(code));
+
+-- superseded by the case-insensitive indexes above
+alter table app.country
+    drop constraint if exists country_name_key;
+
+alter table app.country
+    drop constraint if exists country_code_key;
@@ -0,0 +1,3 @@
+-- Matches allocationSize of the pooled id generator on Country. The column default draws from the same sequence,
+-- so single-row inserts, MERGE and COPY imports advance ids in steps of 50; bigint leaves room for that
+alter sequence app.country_id_seq increment by 50;
@@ -0,0 +1,15 @@
+-- Statement-level so bulk writes send a single notification, Postgres also folds duplicates within one transaction
+create or replace function app.notify_country_changed() returns trigger
+    language plpgsql as
+$$
+begin
+    perform pg_notify('country_changed', tg_op);
+    return null;
+end;
+$$;
+
+create trigger country_changed_notify
+    after insert or update or delete or truncate
+    on app.country
+    for each statement
+execute function app.notify_country_changed();
@@ -0,0 +1,56 @@
+-- Single-row change counter for list ETags, bumped once per writing transaction while it commits. Still inside
+-- the transaction, so a reader never sees a version before the rows it stands for, and the row lock is only
+-- held for the commit itself, after every other lock of the writer has been taken
+create table if not exists app.country_catalog_version
+(
+    id      boolean not null default true check ( id ),
+    version bigint  not null,
+    primary key (id)
+);
+
+insert into app.country_catalog_version (id, version)
+values (true, 0)
+on conflict do nothing;
+
+-- One row per writing transaction, inserted by the first statement and removed again at commit. Never read,
+-- it only carries the single deferred trigger event of its transaction
+create unlogged table if not exists app.country_catalog_version_pending
+(
+    txid bigint not null,
+    primary key (txid)
+);
+
+-- Statement-level, so bulk writes cost one index probe and not one trigger event per row
+create or replace function app.request_country_catalog_version_bump() returns trigger
+    language plpgsql as
+$$
+begin
+    insert into app.country_catalog_version_pending (txid)
+    values (txid_current())
+    on conflict do nothing;
+    return null;
+end;
+$$;
+
+create or replace function app.bump_country_catalog_version() returns trigger
+    language plpgsql as
+$$
+begin
+    update app.country_catalog_version set version = version + 1;
+    delete from app.country_catalog_version_pending where txid = new.txid;
+    return null;
+end;
+$$;
+
+create trigger country_catalog_version_request
+    after insert or update or delete or truncate
+    on app.country
+    for each statement
+execute function app.request_country_catalog_version_bump();
+
+create constraint trigger country_catalog_version_bump
+    after insert
+    on app.country_catalog_version_pending
+    deferrable initially deferred
+    for each row
+execute function app.bump_country_catalog_version();
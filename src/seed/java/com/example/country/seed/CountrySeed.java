@@ -0,0 +1,28 @@
+package com.example.country.seed;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Test data shared by the JMH benchmarks and the load tests, see the seed source directory in build.gradle
+public final class CountrySeed {
+
+    private CountrySeed() {
+    }
+
+    // Codes are spelled with caseless CJK characters, so they stay unique under lower() well past 26^3 rows.
+    // Returns the stored ids: they come from the column default and need not be 1..rows
+    public static long[] seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.execute("TRUNCATE app.country RESTART IDENTITY");
+        jdbcTemplate.update("""
+                INSERT INTO app.country (name, code, date_created, date_updated)
+                SELECT 'Country-' || i,
+                       chr(19968 + i / 65536 % 256) || chr(19968 + i / 256 % 256) || chr(19968 + i % 256),
+                       now(),
+                       now()
+                FROM generate_series(1, ?) AS i
+                """, rows);
+        return jdbcTemplate.queryForList("SELECT id FROM app.country ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+}
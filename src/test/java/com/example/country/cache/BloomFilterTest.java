@@ -0,0 +1,69 @@
+package com.example.country.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter: Module tests")
+class BloomFilterTest {
+
+    private static final int CAPACITY = 10_000;
+    private static final double FPP = 0.01;
+
+    @Test
+    @DisplayName("mightContain: never misses a value that was put")
+    void mightContain_PutValues_NoFalseNegatives() {
+
+        // Data
+        final var filter = new BloomFilter(CAPACITY, FPP);
+
+        // Steps
+        IntStream.range(0, CAPACITY).forEach(i -> filter.put("country-" + i));
+
+        // Assertions
+        assertTrue(IntStream.range(0, CAPACITY).allMatch(i -> filter.mightContain("country-" + i)));
+
+    }
+
+    @Test
+    @DisplayName("mightContain: keeps false positives close to the configured rate at capacity")
+    void mightContain_AbsentValues_FalsePositivesWithinRate() {
+
+        // Data
+        final var filter = new BloomFilter(CAPACITY, FPP);
+        IntStream.range(0, CAPACITY).forEach(i -> filter.put("country-" + i));
+
+        // Steps
+        final var falsePositives = IntStream.range(0, CAPACITY)
+                .filter(i -> filter.mightContain("absent-" + i))
+                .count();
+
+        // Assertions
+        assertAll(
+                () -> assertTrue(falsePositives < CAPACITY * FPP * 2, "false positives: " + falsePositives),
+                () -> assertTrue(filter.expectedFpp() < FPP * 2, "expected fpp: " + filter.expectedFpp())
+        );
+
+    }
+
+    @Test
+    @DisplayName("expectedFpp: is zero for an empty filter")
+    void expectedFpp_EmptyFilter_Zero() {
+
+        // Data
+        final var filter = new BloomFilter(CAPACITY, FPP);
+
+        // Steps & Assertions
+        assertAll(
+                () -> assertEquals(0.0, filter.expectedFpp()),
+                () -> assertFalse(filter.mightContain("country")),
+                // ~9.6 bits per value for 1%
+                () -> assertEquals(12_000, filter.sizeInBytes(), 200)
+        );
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.example.country.cache;
+
+import com.example.country.data.entity.Country;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: a shared test transaction would serve repeated reads from the persistence context instead
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql("/sql/countries.sql")
+@Sql(statements = "TRUNCATE app.country", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DisplayName("CountryEntityCache: Integration tests")
+class CountryEntityCacheIT {
+
+    private static final String COUNTRY_URL = "/api/v1/country/1";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics().clear();
+    }
+
+    @Test
+    @DisplayName("findById: serves repeated reads from the second-level cache")
+    void findById_RepeatedRead_HitsCache() throws Exception {
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRY_URL))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRY_URL))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.name").value("Japan"));
+
+        // Assertions
+        final var regionStatistics = regionStatistics();
+        assertAll(
+                () -> assertEquals(1, regionStatistics.getMissCount()),
+                () -> assertEquals(1, regionStatistics.getHitCount())
+        );
+
+    }
+
+    @Test
+    @DisplayName("update: evicts the cached country so the next read is fresh")
+    void update_CachedCountry_EvictsEntry() throws Exception {
+
+        // Data
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRY_URL))
+                .andExpect(status().isOk());
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.patch(COUNTRY_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "code": "JPN"
+                                }"""))
+                .andExpect(status().isOk());
+
+        // Assertions
+        assertFalse(entityManagerFactory.getCache().contains(Country.class, 1L));
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRY_URL))
+                .andDo(print())
+                .andExpect(jsonPath("$.code").value("JPN"));
+
+    }
+
+    @Test
+    @DisplayName("delete: evicts the cached country so the next read is NOT_FOUND")
+    void delete_CachedCountry_EvictsEntry() throws Exception {
+
+        // Data
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRY_URL))
+                .andExpect(status().isOk());
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.delete(COUNTRY_URL))
+                .andExpect(status().isNoContent());
+
+        // Assertions
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRY_URL))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private CacheRegionStatistics regionStatistics() {
+        return statistics().getDomainDataRegionStatistics(Country.CACHE_REGION);
+    }
+
+}
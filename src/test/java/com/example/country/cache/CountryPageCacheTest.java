@@ -0,0 +1,115 @@
+package com.example.country.cache;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
+import com.example.country.event.CountryChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CountryPageCache: Module tests")
+class CountryPageCacheTest {
+
+    private static final CountryFilter FILTER = new CountryFilter("an", null);
+    private static final PageRequest PAGEABLE = PageRequest.of(0, 10, Sort.by("name"));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountryPageCache cache = new CountryPageCache(meterRegistry, true, 100, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("get: serves the same key from the cache")
+    void get_SameKey_LoadsOnce() {
+
+        // Steps
+        final var first = cache.get(1, FILTER, TotalKind.EXACT, PAGEABLE, this::load);
+        final var second = cache.get(1, new CountryFilter("an", null), TotalKind.EXACT, PageRequest.of(0, 10, Sort.by("name")), this::load);
+
+        // Assertions
+        assertAll(
+                () -> assertSame(first, second),
+                () -> assertEquals(1, loads.get()),
+                () -> assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "country.page").gauge().value())
+        );
+
+    }
+
+    @Test
+    @DisplayName("get: keys differ by total kind, page, size and sort")
+    void get_DifferentKeys_LoadsEach() {
+
+        // Steps
+        cache.get(1, FILTER, TotalKind.EXACT, PAGEABLE, this::load);
+        cache.get(1, FILTER, TotalKind.NONE, PAGEABLE, this::load);
+        cache.get(1, FILTER, TotalKind.EXACT, PageRequest.of(1, 10, Sort.by("name")), this::load);
+        cache.get(1, FILTER, TotalKind.EXACT, PageRequest.of(0, 20, Sort.by("name")), this::load);
+        cache.get(1, FILTER, TotalKind.EXACT, PageRequest.of(0, 10, Sort.by("code")), this::load);
+
+        // Assertions
+        assertEquals(5, loads.get());
+
+    }
+
+    @Test
+    @DisplayName("onCountryChanged: a write makes cached pages unreachable")
+    void get_AfterWrite_LoadsAgain() {
+
+        // Data
+        cache.get(1, FILTER, TotalKind.EXACT, PAGEABLE, this::load);
+
+        // Steps
+        cache.onCountryChanged(CountryChangedEvent.imported());
+        cache.get(1, FILTER, TotalKind.EXACT, PAGEABLE, this::load);
+
+        // Assertions
+        assertEquals(2, loads.get());
+
+    }
+
+    @Test
+    @DisplayName("get: a newer catalog version from any writer loads again")
+    void get_NewerCatalogVersion_LoadsAgain() {
+
+        // Steps
+        cache.get(1, FILTER, TotalKind.EXACT, PAGEABLE, this::load);
+        cache.get(2, FILTER, TotalKind.EXACT, PAGEABLE, this::load);
+
+        // Assertions
+        assertEquals(2, loads.get());
+
+    }
+
+    @Test
+    @DisplayName("get: always loads when disabled")
+    void get_Disabled_AlwaysLoads() {
+
+        // Data
+        final var disabled = new CountryPageCache(new SimpleMeterRegistry(), false, 100, Duration.ofMinutes(1));
+
+        // Steps
+        disabled.get(1, FILTER, TotalKind.EXACT, PAGEABLE, this::load);
+        disabled.get(1, FILTER, TotalKind.EXACT, PAGEABLE, this::load);
+
+        // Assertions
+        assertEquals(2, loads.get());
+
+    }
+
+    private PageResponseDTO load() {
+        loads.incrementAndGet();
+        return PageResponseDTO.builder()
+                .currentPage(0)
+                .data(List.of())
+                .build();
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.example.country.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the filter is loaded from committed rows only
+@SpringBootTest(properties = "app.cache.uniqueness.enabled=true")
+@AutoConfigureMockMvc
+// The fixture inserts explicit ids, so the sequence is moved past them for the API insert
+@Sql(scripts = "/sql/countries.sql", statements = "SELECT setval('app.country_id_seq', 4)")
+@Sql(statements = "TRUNCATE app.country", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DisplayName("CountryUniquenessFilter: Integration tests")
+class CountryUniquenessFilterIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CountryUniquenessFilter countryUniquenessFilter;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        countryUniquenessFilter.rebuild();
+    }
+
+    @Test
+    @DisplayName("mightExist: stored names and codes are found ignoring case")
+    void mightExist_Test() {
+
+        // Steps & Assertions
+        assertAll(
+                () -> assertTrue(countryUniquenessFilter.mightExist("JAPAN", "XX")),
+                () -> assertTrue(countryUniquenessFilter.mightExist("Nowhere", "fr")),
+                () -> assertTrue(countryUniquenessFilter.mightExist(List.of("Spain", "France"), List.of())),
+                () -> assertFalse(countryUniquenessFilter.mightExist("Spain", "SP"))
+        );
+
+    }
+
+    @Test
+    @DisplayName("onCountryChanged: added country is found without a rebuild")
+    void mightExist_AfterAdd_Found() throws Exception {
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/countries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "name": "Spain",
+                                  "code": "SP"
+                                }"""))
+                .andExpect(status().isCreated());
+
+        // Assertions
+        assertTrue(countryUniquenessFilter.mightExist("spain", "XX"));
+
+    }
+
+    @Test
+    @DisplayName("metrics: exposes false-positive rate and memory size")
+    void metrics_Test() {
+
+        // Steps
+        final var fpp = meterRegistry.get("country.uniqueness.filter.fpp").gauge().value();
+        final var size = meterRegistry.get("country.uniqueness.filter.size").gauge().value();
+
+        // Assertions
+        assertAll(
+                () -> assertTrue(fpp >= 0 && fpp < 0.01, "fpp: " + fpp),
+                () -> assertTrue(size > 0, "size: " + size)
+        );
+
+    }
+
+    @Test
+    @DisplayName("addAll: new countries are added without the conflict lookup")
+    void addAll_NewCountries_AnsweredByFilter() throws Exception {
+
+        // Data
+        final var negatives = meterRegistry.get("country.uniqueness.filter.negatives").counter().count();
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/countries/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  { "name": "Spain", "code": "SP" },
+                                  { "name": "Italy", "code": "IT" }
+                                ]"""))
+                .andExpect(status().isCreated());
+
+        // Assertions
+        assertEquals(negatives + 1, meterRegistry.get("country.uniqueness.filter.negatives").counter().count());
+
+    }
+
+    @Test
+    @DisplayName("addAll: a stored name still returns CONFLICT")
+    void addAll_ExistingCountry_ThrowsConflict() throws Exception {
+
+        // Steps & Assertions
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/countries/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  { "name": "Spain", "code": "SP" },
+                                  { "name": "jApAn", "code": "XX" }
+                                ]"""))
+                .andExpectAll(
+                        status().isConflict(),
+                        jsonPath("$.error.errors.length()", Matchers.is(1)));
+
+    }
+
+    @Test
+    @DisplayName("updateAll: a stored code still returns CONFLICT")
+    void updateAll_ExistingCode_ThrowsConflict() throws Exception {
+
+        // Steps & Assertions
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/countries/bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  { "id": 3, "code": "jp" }
+                                ]"""))
+                .andExpectAll(
+                        status().isConflict(),
+                        jsonPath("$.error.errors.length()", Matchers.is(1)));
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.example.country.catalog;
+
+import com.example.country.event.CountryChangedEvent;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the snapshot only sees committed rows, through NOTIFY or a local write
+@SpringBootTest(properties = "app.catalog.engine=snapshot")
+@AutoConfigureMockMvc
+@Sql("/sql/countries.sql")
+@Sql(statements = "TRUNCATE app.country", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DisplayName("CountryCatalog: Integration tests")
+class CountryCatalogIT {
+
+    private static final String COUNTRIES_URL = "/api/v1/countries";
+    private static final Duration NOTIFY_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CountryCatalog countryCatalog;
+
+    @Test
+    @DisplayName("findAll: serves filtered page from snapshot refreshed by NOTIFY")
+    void findAll_ExternalInsert_RefreshedByNotify() throws Exception {
+
+        // Data
+        jdbcTemplate.update("""
+                INSERT INTO app.country (id, name, code, date_created, date_updated)
+                VALUES (5, 'Austrasia', 'AS', now(), now())""");
+
+        // Steps
+        await().atMost(NOTIFY_TIMEOUT)
+                .until(() -> countryCatalog.snapshot().size() == 5);
+
+        // Assertions
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL)
+                        .param("name", "aus")
+                        .param("sort", "name,desc"))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.total_items", Matchers.is(3)),
+                        jsonPath("$.data[*].name", Matchers.contains("Austria", "Austrasia", "Australia")));
+
+    }
+
+    @Test
+    @DisplayName("findById: sees own write immediately without waiting for NOTIFY")
+    void findById_AfterOwnWrite_ReturnsFreshCountry() throws Exception {
+
+        // Data
+        await().atMost(NOTIFY_TIMEOUT)
+                .until(() -> countryCatalog.snapshot().version() == storedVersion());
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.patch("/api/v1/country/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "code": "JPN"
+                                }"""))
+                .andExpect(status().isOk());
+
+        // Assertions
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/country/1"))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.code", Matchers.is("JPN")));
+        assertEquals(storedVersion(), countryCatalog.snapshot().version());
+
+    }
+
+    @Test
+    @DisplayName("onCountryChanged: keeps the loaded snapshot when its version is current")
+    void onCountryChanged_VersionAlreadyLoaded_SkipsReload() {
+
+        // Data
+        await().atMost(NOTIFY_TIMEOUT)
+                .until(() -> countryCatalog.snapshot().size() == 4);
+        final var loaded = countryCatalog.snapshot();
+
+        // Steps
+        countryCatalog.onCountryChanged(CountryChangedEvent.imported());
+
+        // Assertions
+        assertSame(loaded, countryCatalog.snapshot());
+
+    }
+
+    @Test
+    @DisplayName("reload: tags the snapshot with the version its rows were read at")
+    void reload_AfterExternalWrite_MatchesStoredVersion() {
+
+        // Data
+        jdbcTemplate.update("DELETE FROM app.country WHERE id = 4");
+
+        // Steps
+        countryCatalog.reload();
+
+        // Assertions
+        final var snapshot = countryCatalog.snapshot();
+        assertAll(
+                () -> assertEquals(3, snapshot.size()),
+                () -> assertEquals(storedVersion(), snapshot.version())
+        );
+
+    }
+
+    private long storedVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM app.country_catalog_version", Long.class);
+    }
+
+}
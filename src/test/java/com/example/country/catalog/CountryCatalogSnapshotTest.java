@@ -0,0 +1,107 @@
+package com.example.country.catalog;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CountryCatalogSnapshot: Module tests")
+class CountryCatalogSnapshotTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 12, 12, 12, 12);
+
+    private static final CountryCatalogSnapshot SNAPSHOT = new CountryCatalogSnapshot(1, List.of(
+            country(4L, "Austria", "AT"),
+            country(1L, "Japan", "JP"),
+            country(3L, "Australia", "AU"),
+            country(2L, "France", "FR")));
+
+    @ParameterizedTest(name = "Case {index}: {0}")
+    @MethodSource("find_ArgumentsProvider")
+    @DisplayName("find: filters by partial name or code and sorts")
+    void find_Test(String caseName, CountryFilter filter, Sort sort, List<String> expectedNames) {
+
+        // Steps
+        var result = SNAPSHOT.find(filter, sort);
+
+        // Assertions
+        assertEquals(expectedNames, result.stream().map(CountryResponseDTO::name).toList());
+
+    }
+
+    static Stream<Arguments> find_ArgumentsProvider() {
+        return Stream.of(
+                Arguments.of("No filters, unsorted keeps id order",
+                        new CountryFilter(null, null), Sort.unsorted(),
+                        List.of("Japan", "France", "Australia", "Austria")),
+                Arguments.of("Filter by partial name ignoring case",
+                        new CountryFilter("AN", null), Sort.unsorted(),
+                        List.of("Japan", "France")),
+                Arguments.of("Filter by partial code sorted by name",
+                        new CountryFilter(null, "a"), Sort.by("name"),
+                        List.of("Australia", "Austria")),
+                Arguments.of("Filter by partial name and code",
+                        new CountryFilter("an", "F"), Sort.unsorted(),
+                        List.of("France")),
+                Arguments.of("Blank filter, sorted by code descending",
+                        new CountryFilter(" ", null), Sort.by(Sort.Direction.DESC, "code"),
+                        List.of("Japan", "France", "Australia", "Austria")),
+                Arguments.of("Sorted by two properties",
+                        new CountryFilter(null, null), Sort.by("dateCreated", "name"),
+                        List.of("Australia", "Austria", "France", "Japan"))
+        );
+    }
+
+    @Test
+    @DisplayName("withChanges: applies upserts and deletes to every sorted view and shares untouched rows")
+    void withChanges_Test() {
+
+        // Data
+        final var renamed = country(1L, "Nippon", "JP");
+        final var added = country(5L, "Belgium", "BE");
+
+        // Steps
+        final var changed = SNAPSHOT.withChanges(2, List.of(renamed, added), List.of(3L));
+
+        // Assertions
+        assertAll(
+                () -> assertEquals(2, changed.version()),
+                () -> assertEquals(4, changed.size()),
+                () -> assertEquals(List.of("Austria", "Belgium", "France", "Nippon"),
+                        changed.find(new CountryFilter(null, null), Sort.by("name")).stream().map(CountryResponseDTO::name).toList()),
+                () -> assertEquals(List.of("JP", "FR", "BE", "AT"),
+                        changed.find(new CountryFilter(null, null), Sort.by(Sort.Direction.DESC, "code")).stream().map(CountryResponseDTO::code).toList()),
+                () -> assertTrue(changed.findById(3L).isEmpty()),
+                () -> assertSame(SNAPSHOT.findById(2L).orElseThrow(), changed.findById(2L).orElseThrow()),
+                () -> assertEquals(4, SNAPSHOT.size())
+        );
+
+    }
+
+    @Test
+    @DisplayName("supports: accepts only entity properties")
+    void supports_Test() {
+
+        // Steps & Assertions
+        assertAll(
+                () -> assertTrue(CountryCatalogSnapshot.supports(Sort.by("name", "dateCreated"))),
+                () -> assertFalse(CountryCatalogSnapshot.supports(Sort.by("population")))
+        );
+
+    }
+
+    private static CountryResponseDTO country(Long id, String name, String code) {
+        return new CountryResponseDTO(id, name, code, NOW, NOW);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.example.country.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the API calls have to commit and release their connections like real requests
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Sql("/sql/countries.sql")
+@Sql(statements = "TRUNCATE app.country", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DisplayName("Prometheus metrics: Integration tests")
+class PrometheusMetricsIT {
+
+    private static final String PROMETHEUS_URL = "/actuator/prometheus";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @DisplayName("prometheus: exposes service timers, pool, Hibernate and SLO request buckets")
+    void prometheus_AfterApiCalls_ExposesMetrics() throws Exception {
+
+        // Data
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/country/1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/countries").param("name", "an"))
+                .andExpect(status().isOk());
+
+        // Steps & Assertions
+        mockMvc.perform(MockMvcRequestBuilders.get(PROMETHEUS_URL))
+                .andExpectAll(
+                        status().isOk(),
+                        content().string(allOf(
+                                containsString("country_service_seconds_count{"),
+                                containsString("method=\"findById\""),
+                                containsString("http_server_requests_seconds_bucket{"),
+                                containsString("uri=\"/api/v1/country/{id}\""),
+                                containsString("le=\"0.05\""),
+                                containsString("hikaricp_connections_active{"),
+                                containsString("hikaricp_connections_idle{"),
+                                containsString("hikaricp_connections_pending{"),
+                                containsString("hikaricp_connections_acquire_seconds_bucket{"),
+                                containsString("hibernate_query_executions_total{"),
+                                containsString("hibernate_entities_loads_total{"),
+                                containsString("hibernate_second_level_cache_requests_total{"))));
+
+    }
+
+}
@@ -1,19 +1,27 @@
 package com.example.country.data.controller;
 
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import static com.example.country.datasource.SqlStatementBudget.sqlStatements;
+import static com.example.country.datasource.SqlStatementBudget.sqlStatementsAtMost;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @Transactional // using for remove data from db after test
 @SpringBootTest
@@ -26,6 +34,15 @@ class CountriesControllerIT {
     @Autowired
     MockMvc mockMvc;
 
+    @PersistenceContext
+    EntityManager entityManager;
+
+    // Ids repeat across tests, a country cached by an earlier one would hide the statement that loads it
+    @BeforeEach
+    void setUp() {
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+    }
+
     @Test
     @DisplayName("add: returns added country when request is valid")
     void add_ValidRequest_ReturnsAddedCountry() throws Exception {
@@ -46,6 +63,7 @@ class CountriesControllerIT {
                 // Assertions
                 .andExpectAll(
                         status().isCreated(),
+                        sqlStatements(1),
                         // header().string(HttpHeaders.LOCATION, "http://localhost/api/v1/country/5"),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json("""
@@ -80,6 +98,7 @@ class CountriesControllerIT {
                 // Assertions
                 .andExpectAll(
                         status().isConflict(),
+                        sqlStatements(1),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json(
                                 """
@@ -103,6 +122,34 @@ class CountriesControllerIT {
 
     }
 
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("add: throws CONFLICT when country exists with different letter case")
+    void add_ExistingCountryIgnoringCase_ThrowsConflict() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                          "name": "jApAn",
+                          "code": "XX"
+                        }""");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isConflict(),
+                        sqlStatements(1),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.error.code", Matchers.is("409 CONFLICT"))
+                );
+
+    }
+
     @Test
     @DisplayName("add: throws BAD_REQUEST when request is invalid")
     void add_InvalidRequest_ThrowsBadRequest() throws Exception {
@@ -124,6 +171,7 @@ class CountriesControllerIT {
                 .andExpectAll(
                         // Assertions
                         status().isBadRequest(),
+                        sqlStatements(0),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json(
                                 """
@@ -167,6 +215,7 @@ class CountriesControllerIT {
                 // Assertions
                 .andExpectAll(
                         status().isOk(),
+                        sqlStatements(2),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json("""
                                 {
@@ -202,5 +251,563 @@ class CountriesControllerIT {
 
     }
 
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("findAll: returns page without totals when total kind is none")
+    void findAll_NoTotal_ReturnsPageWithoutTotals() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.get(COUNTRIES_URL)
+                .param("total", "none")
+                .param("size", "3");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        sqlStatements(2),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.total_kind", Matchers.is("none")),
+                        jsonPath("$.has_next", Matchers.is(true)),
+                        jsonPath("$.total_items").doesNotExist(),
+                        jsonPath("$.pages").doesNotExist(),
+                        jsonPath("$.data.length()", Matchers.is(3))
+                );
+
+    }
+
+    @Test
+    // The catalog version is bumped while the writing transaction commits, so the delete has to really commit
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql("/sql/countries.sql")
+    @Sql(statements = "TRUNCATE app.country", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("findAll: returns NOT_MODIFIED until the catalog version changes")
+    void findAll_ConditionalRequest_RevalidatesByCatalogVersion() throws Exception {
+
+        // Data
+        final var eTag = mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL).param("name", "aus"))
+                .andExpectAll(
+                        status().isOk(),
+                        sqlStatements(2),
+                        header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // Steps & Assertions
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL)
+                        .param("name", "aus")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotModified(),
+                        sqlStatements(1),
+                        content().string(""));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/country/4"))
+                .andExpectAll(
+                        status().isNoContent(),
+                        sqlStatements(1));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL)
+                        .param("name", "aus")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.ETAG, Matchers.not(eTag)),
+                        sqlStatements(2),
+                        jsonPath("$.total_items", Matchers.is(1)));
+
+    }
+
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("findAllAfter: pages through filtered countries by cursor")
+    void findAllAfter_FilteredRequest_PagesByCursor() throws Exception {
+
+        // Data
+        final var firstPageRequest = MockMvcRequestBuilders.get(COUNTRIES_URL)
+                .param("code", "A")
+                .param("after", "")
+                .param("size", "1")
+                .param("sort", "name,asc");
+
+        // Steps
+        final var firstPage = mockMvc.perform(firstPageRequest)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.items_per_page", Matchers.is(1)),
+                        jsonPath("$.has_next", Matchers.is(true)),
+                        jsonPath("$.current_page").doesNotExist(),
+                        jsonPath("$.data[0].name", Matchers.is("Australia"))
+                )
+                .andReturn();
+
+        final String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.next_cursor");
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL)
+                        .param("code", "A")
+                        .param("after", nextCursor)
+                        .param("size", "1"))
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.has_next", Matchers.is(false)),
+                        jsonPath("$.next_cursor").doesNotExist(),
+                        jsonPath("$.data[0].name", Matchers.is("Austria"))
+                );
+
+    }
+
+    @Test
+    @DisplayName("findAllAfter: returns BAD_REQUEST when cursor is malformed")
+    void findAllAfter_MalformedCursor_ReturnsBadRequest() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.get(COUNTRIES_URL)
+                .param("after", "not-a-cursor");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isBadRequest(),
+                        sqlStatements(0),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.error.code", Matchers.is("400 BAD_REQUEST")),
+                        jsonPath("$.error.message", Matchers.is("Bad request. Invalid cursor"))
+                );
+
+    }
+
+    @Test
+    @DisplayName("addAll: returns added countries when request is valid")
+    void addAll_ValidRequest_ReturnsAddedCountries() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [
+                          { "name": "Spain", "code": "SP" },
+                          { "name": "Italy", "code": "IT" }
+                        ]""");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isCreated(),
+                        // Conflict check and one insert batch, plus up to two reads of the pooled id sequence
+                        sqlStatementsAtMost(4),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.length()", Matchers.is(2)),
+                        jsonPath("$[0].name", Matchers.is("Spain")),
+                        jsonPath("$[0].id", Matchers.notNullValue()),
+                        jsonPath("$[1].name", Matchers.is("Italy"))
+                );
+
+    }
+
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("addAll: returns CONFLICT with every conflicting item and adds nothing")
+    void addAll_ExistingCountries_ThrowsConflict() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [
+                          { "name": "Spain", "code": "SP" },
+                          { "name": "jApAn", "code": "XX" },
+                          { "name": "Spanish", "code": "sp" }
+                        ]""");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isConflict(),
+                        sqlStatements(1),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.error.message", Matchers.is("Countries already exist")),
+                        jsonPath("$.error.errors.length()", Matchers.is(2)),
+                        jsonPath("$.error.errors[0].message",
+                                Matchers.is("Country [1] with name = [jApAn] or code = [XX] already exists")),
+                        jsonPath("$.error.errors[1].message",
+                                Matchers.is("Country [2] with name = [Spanish] or code = [sp] already exists"))
+                );
+
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL).param("name", "Spain"))
+                .andExpect(jsonPath("$.total_items", Matchers.is(0)));
+
+    }
+
+    @Test
+    @DisplayName("addAll: returns BAD_REQUEST when an item is invalid")
+    void addAll_InvalidItem_ReturnsBadRequest() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [
+                          { "name": "Spain", "code": "SP" },
+                          { "name": "It", "code": "IT" }
+                        ]""");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isBadRequest(),
+                        sqlStatements(0),
+                        jsonPath("$.error.message", Matchers.is("Bad request. invalid country name"))
+                );
+
+    }
+
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("importCountries: imports valid CSV rows and rejects invalid or conflicting ones")
+    void importCountries_CsvBody_ReturnsCounts() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/import")
+                .contentType("text/csv")
+                .content("""
+                        name,code
+                        Spain,SP
+                        "Italy, Republic",IT
+                        jApAn,XX
+                        Spanish,sp
+                        It,IR
+                        Germany,
+                        """);
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        // Staging table and merge, COPY goes around the counted connection
+                        sqlStatements(2),
+                        content().json("""
+                                {
+                                  "total": 6,
+                                  "accepted": 2,
+                                  "rejected": 4
+                                }
+                                """)
+                );
+
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL).param("name", "Italy, Republic"))
+                .andExpect(jsonPath("$.total_items", Matchers.is(1)));
+
+    }
+
+    @Test
+    @DisplayName("importCountries: imports valid NDJSON lines and rejects malformed ones")
+    void importCountries_NdjsonBody_ReturnsCounts() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("""
+                        {"name": "Spain", "code": "SP"}
+                        {"name": "Cote \\"d'Ivoire\\"", "code": "CI"}
+
+                        {"name": "Italy", "code": "SP"}
+                        not json
+                        ["Portugal", "PT"]
+                        """);
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        sqlStatements(4),
+                        content().json("""
+                                {
+                                  "total": 5,
+                                  "accepted": 2,
+                                  "rejected": 3
+                                }
+                                """)
+                );
+
+    }
+
+    @Test
+    @DisplayName("importCountries: rejects names and codes made of whitespace other than spaces")
+    void importCountries_WhitespaceFields_Rejected() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("""
+                        {"name": "Spain", "code": "SP"}
+                        {"name": "\\t \\t", "code": "TB"}
+                        {"name": "Tabland", "code": "\\r\\n"}
+                        """);
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        sqlStatements(4),
+                        content().json("""
+                                {
+                                  "total": 3,
+                                  "accepted": 1,
+                                  "rejected": 2
+                                }
+                                """)
+                );
+
+    }
+
+    @Test
+    @DisplayName("importCountries: returns BAD_REQUEST when CSV header does not match")
+    void importCountries_WrongCsvHeader_ReturnsBadRequest() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/import")
+                .contentType("text/csv")
+                .content("""
+                        country,iso
+                        Spain,SP
+                        """);
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isBadRequest(),
+                        sqlStatements(1),
+                        jsonPath("$.error.message", Matchers.is("Bad request. Invalid import body"))
+                );
+
+    }
+
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("updateAll: applies all patches in one statement and returns updated ids")
+    void updateAll_ValidRequest_ReturnsUpdatedIds() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/bulk-update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [
+                          { "id": 1, "code": "JPN" },
+                          { "id": 2, "name": "French Republic", "code": "FRA" },
+                          { "id": 99, "code": "XXX" }
+                        ]""");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        // Stored rows, conflict check and the update
+                        sqlStatements(3),
+                        jsonPath("$.affected", Matchers.is(2)),
+                        jsonPath("$.ids", Matchers.containsInAnyOrder(1, 2))
+                );
+
+        forgetLoadedCountries();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/country/1"))
+                .andExpectAll(
+                        jsonPath("$.name", Matchers.is("Japan")),
+                        jsonPath("$.code", Matchers.is("JPN")));
+
+    }
+
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("updateAll: swaps names and codes between patched countries")
+    void updateAll_SwappedValues_UpdatesBoth() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/bulk-update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [
+                          { "id": 1, "name": "France", "code": "FR" },
+                          { "id": 2, "name": "Japan", "code": "jp" }
+                        ]""");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        // Plus the statement that parks the swapped values
+                        sqlStatements(4),
+                        jsonPath("$.affected", Matchers.is(2))
+                );
+
+        forgetLoadedCountries();
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/country/1"))
+                .andExpectAll(
+                        jsonPath("$.name", Matchers.is("France")),
+                        jsonPath("$.code", Matchers.is("FR")));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/country/2"))
+                .andExpectAll(
+                        jsonPath("$.name", Matchers.is("Japan")),
+                        jsonPath("$.code", Matchers.is("jp")));
+
+    }
+
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("updateAll: returns CONFLICT with every conflicting patch and updates nothing")
+    void updateAll_ConflictingPatches_ThrowsConflict() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/bulk-update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [
+                          { "id": 1, "code": "JPN" },
+                          { "id": 2, "name": "japan" },
+                          { "id": 3, "code": "XX" },
+                          { "id": 4, "code": "xx" }
+                        ]""");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isConflict(),
+                        sqlStatements(2),
+                        jsonPath("$.error.errors.length()", Matchers.is(2)),
+                        jsonPath("$.error.errors[0].message",
+                                Matchers.is("Country [1] with name = [japan] or code = [FR] already exists")),
+                        jsonPath("$.error.errors[1].message",
+                                Matchers.is("Country [3] with name = [Austria] or code = [xx] already exists"))
+                );
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/country/1"))
+                .andExpect(jsonPath("$.code", Matchers.is("JP")));
+
+    }
+
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("deleteAll: deletes countries matching the filter and returns their ids")
+    void deleteAll_ByFilter_ReturnsDeletedIds() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        { "code": "a" }""");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        sqlStatements(1),
+                        jsonPath("$.affected", Matchers.is(2)),
+                        jsonPath("$.ids", Matchers.containsInAnyOrder(3, 4))
+                );
+
+    }
+
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("deleteAll: deletes countries by ids and skips unknown ids")
+    void deleteAll_ByIds_ReturnsDeletedIds() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        { "ids": [1, 2, 99] }""");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        sqlStatements(1),
+                        jsonPath("$.affected", Matchers.is(2)),
+                        jsonPath("$.ids", Matchers.containsInAnyOrder(1, 2))
+                );
+
+    }
+
+    @Test
+    @DisplayName("deleteAll: returns BAD_REQUEST when neither ids nor filter are given")
+    void deleteAll_EmptyRequest_ReturnsBadRequest() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.post(COUNTRIES_URL + "/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isBadRequest(),
+                        sqlStatements(0),
+                        jsonPath("$.error.message",
+                                Matchers.is("Bad request. either ids or a name/code filter is required"))
+                );
+
+    }
+
+    // Bulk updates run over JDBC: the rows their conflict check loaded stay stale in the test transaction's
+    // persistence context and in the second-level cache, which is only evicted after commit
+    private void forgetLoadedCountries() {
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+    }
 
 }
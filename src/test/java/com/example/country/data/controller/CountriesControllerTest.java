@@ -1,32 +1,61 @@
 package com.example.country.data.controller;
 
+import com.example.country.cache.CountryPageCache;
+import com.example.country.data.controller.dto.AddCountriesRequestDTO;
 import com.example.country.data.controller.dto.AddCountryRequestDTO;
+import com.example.country.data.controller.dto.BulkDeleteRequestDTO;
+import com.example.country.data.controller.dto.BulkResultDTO;
+import com.example.country.data.controller.dto.BulkUpdateItemDTO;
+import com.example.country.data.controller.dto.BulkUpdateRequestDTO;
 import com.example.country.data.controller.dto.CountryFilter;
 import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.CursorPageResponseDTO;
+import com.example.country.data.controller.dto.ImportFormat;
+import com.example.country.data.controller.dto.ImportResultDTO;
 import com.example.country.data.controller.dto.PageResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
 import com.example.country.data.entity.Country;
+import com.example.country.ex.CountriesAlreadyExistException;
 import com.example.country.ex.CountryAlreadyExistsException;
+import com.example.country.ex.InvalidCursorException;
+import com.example.country.mapper.CountryCursorMapper;
 import com.example.country.mapper.CountryMapper;
 import com.example.country.service.CountryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.MapBindingResult;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +72,10 @@ class CountriesControllerTest {
     @Mock
     CountryService countryService;
 
+    // Disabled, every list request reaches the service
+    @Spy
+    CountryPageCache countryPageCache = new CountryPageCache(new SimpleMeterRegistry(), false, 1, Duration.ZERO);
+
     @InjectMocks
     CountriesController countriesController;
 
@@ -59,9 +92,6 @@ class CountriesControllerTest {
         final var bindingResult = new MapBindingResult(new HashMap<>(), "request");
 
         // Mock
-        Mockito.doReturn(false)
-                .when(countryService)
-                .isCountryExistsByNameOrCode(VALID_COUNTRY_NAME, VALID_COUNTRY_CODE);
         Mockito.doReturn(new Country(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, now, now))
                 .when(countryService)
                 .add(argThat(countryArg ->
@@ -80,7 +110,6 @@ class CountriesControllerTest {
                 () -> assertEquals(HttpStatus.CREATED, result.getStatusCode())
         );
 
-        Mockito.verify(countryService, times(1)).isCountryExistsByNameOrCode(any(String.class), any(String.class));
         Mockito.verify(countryService, times(1)).add(any(Country.class));
         Mockito.verifyNoMoreInteractions(countryService);
 
@@ -95,13 +124,15 @@ class CountriesControllerTest {
         final var bindingResult = new MapBindingResult(new HashMap<>(), "request");
 
         //Mock
-        doReturn(true).when(countryService).isCountryExistsByNameOrCode(VALID_COUNTRY_NAME, VALID_COUNTRY_CODE);
+        doThrow(new CountryAlreadyExistsException("Country already exists"))
+                .when(countryService)
+                .add(any(Country.class));
 
         // Steps
         assertThrows(CountryAlreadyExistsException.class, () -> countriesController.add(requestDTO, bindingResult));
 
         // Assertions
-        Mockito.verify(countryService, times(1)).isCountryExistsByNameOrCode(any(String.class), any(String.class));
+        Mockito.verify(countryService, times(1)).add(any(Country.class));
         Mockito.verifyNoMoreInteractions(countryService);
 
     }
@@ -129,6 +160,245 @@ class CountriesControllerTest {
 
     }
 
+    @Test
+    @DisplayName("addAll: returns added countries when request is valid")
+    void addAll_ValidRequest_ReturnsAddedCountries() throws BindException {
+
+        // Data
+        final var ldtNow = LocalDateTime.now();
+        final var now = Timestamp.valueOf(ldtNow);
+        final var requestDTO = new AddCountriesRequestDTO(List.of(
+                new AddCountryRequestDTO(VALID_COUNTRY_NAME, VALID_COUNTRY_CODE),
+                new AddCountryRequestDTO("France", "FR")));
+        final var bindingResult = new MapBindingResult(new HashMap<>(), "request");
+
+        // Mock
+        Mockito.doReturn(List.of(
+                        new Country(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, now, now),
+                        new Country(2L, "France", "FR", now, now)))
+                .when(countryService)
+                .addAll(argThat(countries -> countries.size() == 2
+                        && countries.getFirst().getName().equals(VALID_COUNTRY_NAME)
+                        && countries.getLast().getCode().equals("FR")));
+
+        // Test
+        final var result = countriesController.addAll(requestDTO, bindingResult);
+
+        // Assertions
+        assertAll(
+                () -> assertNotNull(result),
+                () -> assertEquals(HttpStatus.CREATED, result.getStatusCode()),
+                () -> assertEquals(
+                        List.of(
+                                new CountryResponseDTO(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, ldtNow, ldtNow),
+                                new CountryResponseDTO(2L, "France", "FR", ldtNow, ldtNow)),
+                        result.getBody())
+        );
+
+        Mockito.verify(countryService, times(1)).addAll(anyList());
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("addAll: throws CountriesAlreadyExistException when some countries already exist")
+    void addAll_ExistingCountries_ThrowsConflict() {
+
+        // Data
+        final var requestDTO = new AddCountriesRequestDTO(List.of(
+                new AddCountryRequestDTO(VALID_COUNTRY_NAME, VALID_COUNTRY_CODE)));
+        final var bindingResult = new MapBindingResult(new HashMap<>(), "request");
+
+        // Mock
+        doThrow(new CountriesAlreadyExistException(
+                "Countries already exist",
+                List.of(new CountriesAlreadyExistException.Conflict(0, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE))))
+                .when(countryService)
+                .addAll(anyList());
+
+        // Steps
+        assertThrows(CountriesAlreadyExistException.class, () -> countriesController.addAll(requestDTO, bindingResult));
+
+        // Assertions
+        Mockito.verify(countryService, times(1)).addAll(anyList());
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("addAll: throws BindException when request is invalid")
+    void addAll_InvalidRequest_ThrowsBindException() {
+
+        // Data
+        final var requestDTO = new AddCountriesRequestDTO(List.of(
+                new AddCountryRequestDTO(SHORT_COUNTRY_NAME, VALID_COUNTRY_CODE)));
+        final var bindingResult = new BindException(new MapBindingResult(Map.of(), "request"));
+        bindingResult.addError(new FieldError("request", "countries[0].name", "error"));
+
+        // Steps
+        final var exception = assertThrows(BindException.class, () -> countriesController.addAll(requestDTO, bindingResult));
+
+        // Assertions
+        assertEquals(List.of(new FieldError("request", "countries[0].name", "error")), exception.getAllErrors());
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("updateAll: returns ids of updated countries")
+    void updateAll_ValidRequest_ReturnsUpdatedIds() throws BindException {
+
+        // Data
+        final var now = Timestamp.valueOf(LocalDateTime.now());
+        final var requestDTO = new BulkUpdateRequestDTO(List.of(
+                new BulkUpdateItemDTO(1L, null, "JPN"),
+                new BulkUpdateItemDTO(2L, "French Republic", null)));
+        final var bindingResult = new MapBindingResult(new HashMap<>(), "request");
+
+        // Mock
+        Mockito.doReturn(List.of(
+                        new Country(1L, VALID_COUNTRY_NAME, "JPN", now, now),
+                        new Country(2L, "French Republic", "FR", now, now)))
+                .when(countryService)
+                .updateAll(argThat(patches -> patches.size() == 2
+                        && patches.getFirst().getId() == 1L
+                        && patches.getFirst().getName() == null
+                        && patches.getFirst().getCode().equals("JPN")));
+
+        // Steps
+        var result = countriesController.updateAll(requestDTO, bindingResult);
+
+        // Assertions
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(new BulkResultDTO(2, List.of(1L, 2L)), result.getBody())
+        );
+
+        Mockito.verify(countryService, times(1)).updateAll(anyList());
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("deleteAll: deletes by ids when ids are present")
+    void deleteAll_ByIds_ReturnsDeletedIds() throws BindException {
+
+        // Data
+        final var now = Timestamp.valueOf(LocalDateTime.now());
+        final var requestDTO = new BulkDeleteRequestDTO(List.of(1L, 5L), null, null);
+        final var bindingResult = new MapBindingResult(new HashMap<>(), "request");
+
+        // Mock
+        Mockito.doReturn(List.of(new Country(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, now, now)))
+                .when(countryService)
+                .deleteAll(List.of(1L, 5L));
+
+        // Steps
+        var result = countriesController.deleteAll(requestDTO, bindingResult);
+
+        // Assertions
+        assertEquals(new BulkResultDTO(1, List.of(1L)), result.getBody());
+
+        Mockito.verify(countryService, times(1)).deleteAll(List.of(1L, 5L));
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("deleteAll: deletes by filter when ids are absent")
+    void deleteAll_ByFilter_ReturnsDeletedIds() throws BindException {
+
+        // Data
+        final var now = Timestamp.valueOf(LocalDateTime.now());
+        final var requestDTO = new BulkDeleteRequestDTO(null, null, "A");
+        final var bindingResult = new MapBindingResult(new HashMap<>(), "request");
+
+        // Mock
+        Mockito.doReturn(List.of(
+                        new Country(3L, "Australia", "AU", now, now),
+                        new Country(4L, "Austria", "AT", now, now)))
+                .when(countryService)
+                .deleteAll(new CountryFilter(null, "A"));
+
+        // Steps
+        var result = countriesController.deleteAll(requestDTO, bindingResult);
+
+        // Assertions
+        assertEquals(new BulkResultDTO(2, List.of(3L, 4L)), result.getBody());
+
+        Mockito.verify(countryService, times(1)).deleteAll(new CountryFilter(null, "A"));
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("importCountries: passes body with format from content type and returns counts")
+    void importCountries_CsvBody_ReturnsImportResult() {
+
+        // Data
+        final var body = new ByteArrayInputStream("name,code\nJapan,JP\n".getBytes(StandardCharsets.UTF_8));
+        final var expectedResult = new ImportResultDTO(1, 1, 0);
+
+        // Mock
+        Mockito.doReturn(expectedResult)
+                .when(countryService)
+                .importCountries(body, ImportFormat.CSV);
+
+        // Steps
+        var result = countriesController.importCountries(MediaType.valueOf("text/csv;charset=UTF-8"), body);
+
+        // Assertions
+        assertAll(
+                () -> assertNotNull(result),
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(expectedResult, result.getBody())
+        );
+
+        Mockito.verify(countryService, times(1)).importCountries(body, ImportFormat.CSV);
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("exportCsv: streams header and one line per exported country")
+    void exportCsv_ValidRequest_StreamsCsv() throws Exception {
+
+        // Data
+        final var ldt = LocalDateTime.of(2024, 12, 12, 12, 12, 12, 534_000_000);
+        final var filter = new CountryFilter("a", null);
+        final var outputStream = new ByteArrayOutputStream();
+
+        // Mock
+        Mockito.doAnswer(invocation -> {
+                    Consumer<CountryResponseDTO> consumer = invocation.getArgument(1);
+                    consumer.accept(new CountryResponseDTO(1L, "Japan", "JP", ldt, ldt));
+                    consumer.accept(new CountryResponseDTO(2L, "Korea, Republic of", "KR", ldt, ldt));
+                    return null;
+                })
+                .when(countryService)
+                .export(eq(filter), any());
+
+        // Steps
+        var result = countriesController.exportCsv(filter.name(), filter.code());
+        result.getBody().writeTo(outputStream);
+
+        // Assertions
+        assertAll(
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(MediaType.valueOf("text/csv"), result.getHeaders().getContentType()),
+                () -> assertEquals("""
+                                id,name,code,date_created,date_updated
+                                1,Japan,JP,2024-12-12 12:12:12.534,2024-12-12 12:12:12.534
+                                2,"Korea, Republic of",KR,2024-12-12 12:12:12.534,2024-12-12 12:12:12.534
+                                """,
+                        outputStream.toString(StandardCharsets.UTF_8))
+        );
+
+        Mockito.verify(countryService, times(1)).export(eq(filter), any());
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
     @Test
     @DisplayName("findAll: returns page response when request is valid")
     void findAll_ValidRequest_ReturnsPageResponse() {
@@ -141,33 +411,199 @@ class CountriesControllerTest {
                 new Country(1L, "Austria", "AT", now, now),
                 new Country(2L, "Australia", "AU", now, now));
         final var pageable = PageRequest.of(0, 20);
-        final var page = new PageImpl<>(countries, pageable, countries.size());
+        final var page = new PageImpl<>(countries.stream().map(CountryMapper::toDTO).toList(), pageable, countries.size());
 
         // Mock
         Mockito.doReturn(page)
                 .when(countryService)
-                .findAll(filter, pageable);
+                .findAllProjected(filter, pageable);
 
         // Steps
-        var result = countriesController.findAll(filter.name(), filter.code(), pageable);
+        var result = countriesController.findAll(filter.name(), filter.code(), TotalKind.EXACT, pageable, webRequest(new MockHttpServletRequest()));
 
         // Assertions
         assertAll(() -> assertNotNull(result),
                 () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals("\"catalog-0\"", result.getHeaders().getETag()),
                 () -> assertEquals(
                         PageResponseDTO.builder()
                                 .currentPage(page.getPageable().getPageNumber())
                                 .itemsPerPage(page.getSize())
                                 .totalItems(page.getTotalElements())
                                 .totalPages(page.getTotalPages())
-                                .data(page.getContent().stream().map(CountryMapper::toDTO).toList())
+                                .data(page.getContent())
+                                .build(),
+                        result.getBody()));
+
+        Mockito.verify(countryService, times(1)).findAllProjected(filter, pageable);
+        Mockito.verify(countryService).getCatalogVersion();
+        Mockito.verifyNoMoreInteractions(countryService);
+
+
+    }
+
+    @Test
+    @DisplayName("findAll: returns page without totals when total kind is none")
+    void findAll_NoTotal_ReturnsSliceResponse() {
+
+        // Data
+        final var ldtNow = LocalDateTime.now();
+        final var now = Timestamp.valueOf(ldtNow);
+        final var filter = new CountryFilter(null, "A");
+        final var countries = List.of(new Country(3L, "Australia", "AU", now, now));
+        final var pageable = PageRequest.of(0, 1);
+        final var slice = new SliceImpl<>(countries.stream().map(CountryMapper::toDTO).toList(), pageable, true);
+
+        // Mock
+        Mockito.doReturn(slice)
+                .when(countryService)
+                .findSliceProjected(filter, pageable);
+
+        // Steps
+        var result = countriesController.findAll(filter.name(), filter.code(), TotalKind.NONE, pageable, webRequest(new MockHttpServletRequest()));
+
+        // Assertions
+        assertAll(() -> assertNotNull(result),
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(TotalKind.NONE, result.getBody().totalKind()),
+                () -> assertNull(result.getBody().totalItems()),
+                () -> assertNull(result.getBody().totalPages()),
+                () -> assertTrue(result.getBody().hasNext()));
+
+        Mockito.verify(countryService, times(1)).findSliceProjected(filter, pageable);
+        Mockito.verify(countryService).getCatalogVersion();
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("findAll: returns estimated totals when total kind is estimated")
+    void findAll_EstimatedTotal_ReturnsEstimatedPageResponse() {
+
+        // Data
+        final var ldtNow = LocalDateTime.now();
+        final var now = Timestamp.valueOf(ldtNow);
+        final var filter = new CountryFilter(null, "A");
+        final var countries = List.of(new Country(3L, "Australia", "AU", now, now));
+        final var pageable = PageRequest.of(0, 1);
+        final var slice = new SliceImpl<>(countries.stream().map(CountryMapper::toDTO).toList(), pageable, true);
+
+        // Mock
+        Mockito.doReturn(slice)
+                .when(countryService)
+                .findSliceProjected(filter, pageable);
+        Mockito.doReturn(5L)
+                .when(countryService)
+                .estimateCount(filter);
+
+        // Steps
+        var result = countriesController.findAll(filter.name(), filter.code(), TotalKind.ESTIMATED, pageable, webRequest(new MockHttpServletRequest()));
+
+        // Assertions
+        assertAll(() -> assertNotNull(result),
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(TotalKind.ESTIMATED, result.getBody().totalKind()),
+                () -> assertEquals(5L, result.getBody().totalItems()),
+                () -> assertEquals(5, result.getBody().totalPages()),
+                () -> assertTrue(result.getBody().hasNext()));
+
+        Mockito.verify(countryService, times(1)).findSliceProjected(filter, pageable);
+        Mockito.verify(countryService, times(1)).estimateCount(filter);
+        Mockito.verify(countryService).getCatalogVersion();
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("findAll: returns NOT_MODIFIED without reading the page when catalog version matches")
+    void findAll_MatchingCatalogETag_ReturnsNotModified() {
+
+        // Data
+        final var request = new MockHttpServletRequest("GET", "/api/v1/countries");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"catalog-7\"");
+
+        // Mock
+        Mockito.doReturn(7L)
+                .when(countryService)
+                .getCatalogVersion();
+
+        // Steps
+        var result = countriesController.findAll("AT", null, TotalKind.EXACT, PageRequest.of(0, 20), webRequest(request));
+
+        // Assertions
+        assertAll(() -> assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode()),
+                () -> assertNull(result.getBody()));
+
+        Mockito.verify(countryService).getCatalogVersion();
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("findAllAfter: returns first cursor page with next cursor when more items exist")
+    void findAllAfter_FirstPage_ReturnsCursorPage() {
+
+        // Data
+        final var ldtNow = LocalDateTime.now();
+        final var now = Timestamp.valueOf(ldtNow);
+        final var filter = new CountryFilter("A", null);
+        final var countries = List.of(
+                new Country(3L, "Australia", "AU", now, now),
+                new Country(4L, "Austria", "AT", now, now));
+        final var sort = Sort.by(Sort.Order.asc("name"));
+        final var pageable = PageRequest.of(0, 2, sort);
+        final var window = Window.from(countries,
+                index -> ScrollPosition.forward(Map.of(
+                        "name", countries.get(index).getName(),
+                        "id", countries.get(index).getId())),
+                true);
+
+        // Mock
+        Mockito.doReturn(window)
+                .when(countryService)
+                .findAll(filter, ScrollPosition.keyset(), sort, 2);
+
+        // Steps
+        var result = countriesController.findAllAfter(filter.name(), filter.code(), "", pageable);
+
+        // Assertions
+        final var expectedCursor = CountryCursorMapper.toToken(
+                Sort.Order.asc("name"),
+                ScrollPosition.forward(Map.of("name", "Austria", "id", 4L)));
+        assertAll(() -> assertNotNull(result),
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(
+                        CursorPageResponseDTO.builder()
+                                .itemsPerPage(2)
+                                .hasNext(true)
+                                .nextCursor(expectedCursor)
+                                .data(countries.stream().map(CountryMapper::toDTO).toList())
                                 .build(),
                         result.getBody()));
 
-        Mockito.verify(countryService, times(1)).findAll(filter, pageable);
+        Mockito.verify(countryService, times(1)).findAll(filter, ScrollPosition.keyset(), sort, 2);
         Mockito.verifyNoMoreInteractions(countryService);
 
+    }
+
+    @Test
+    @DisplayName("findAllAfter: throws InvalidCursorException when cursor is malformed")
+    void findAllAfter_MalformedCursor_ThrowsInvalidCursor() {
+
+        // Data
+        final var pageable = PageRequest.of(0, 2);
+
+        // Steps
+        assertThrows(InvalidCursorException.class,
+                () -> countriesController.findAllAfter(null, null, "not-a-cursor", pageable));
+
+        // Assertions
+        Mockito.verifyNoInteractions(countryService);
+
+    }
 
+    private static ServletWebRequest webRequest(MockHttpServletRequest request) {
+        return new ServletWebRequest(request, new MockHttpServletResponse());
     }
 
 }
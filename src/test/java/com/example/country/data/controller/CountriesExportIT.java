@@ -0,0 +1,156 @@
+package com.example.country.data.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static com.example.country.datasource.SqlStatementBudget.sqlStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the export streams on an async thread with its own transaction, so test data must be committed
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql("/sql/countries.sql")
+@Sql(statements = "TRUNCATE app.country", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DisplayName("CountriesController export: Integration tests")
+class CountriesExportIT {
+
+    private static final String EXPORT_URL = "/api/v1/countries/export";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @DisplayName("exportNdjson: streams one JSON document per filtered country")
+    void exportNdjson_FilteredRequest_StreamsNdjson() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.get(EXPORT_URL)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE)
+                .param("code", "A");
+
+        // Steps
+        final var mvcResult = mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        request().asyncStarted(),
+                        // Rows are read by the async body after the response started, none on the request thread
+                        sqlStatements(0))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON),
+                        content().string("""
+                                {"id":3,"name":"Australia","code":"AU","date_created":"2024-12-12 12:12:14.534","date_updated":"2024-12-12 12:12:14.634"}
+                                {"id":4,"name":"Austria","code":"AT ","date_created":"2024-12-12 12:12:15.534","date_updated":"2024-12-12 12:12:15.634"}
+                                """)
+                );
+
+    }
+
+    @Test
+    @DisplayName("exportNdjson: streams NDJSON when the request has no Accept header")
+    void exportNdjson_NoAcceptHeader_StreamsNdjson() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.get(EXPORT_URL)
+                .param("code", "JP");
+
+        // Steps
+        final var mvcResult = mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        request().asyncStarted(),
+                        // Rows are read by the async body after the response started, none on the request thread
+                        sqlStatements(0))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON),
+                        content().string("""
+                                {"id":1,"name":"Japan","code":"JP","date_created":"2024-12-12 12:12:12.534","date_updated":"2024-12-12 12:12:12.634"}
+                                """)
+                );
+
+    }
+
+    @Test
+    @DisplayName("exportNdjson: streams NDJSON when the request accepts any type")
+    void exportNdjson_AcceptAll_StreamsNdjson() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.get(EXPORT_URL)
+                .header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE)
+                .param("code", "JP");
+
+        // Steps
+        final var mvcResult = mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        request().asyncStarted(),
+                        // Rows are read by the async body after the response started, none on the request thread
+                        sqlStatements(0))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                );
+
+    }
+
+    @Test
+    @DisplayName("exportCsv: streams header and all countries ordered by id")
+    void exportCsv_ValidRequest_StreamsCsv() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.get(EXPORT_URL)
+                .header(HttpHeaders.ACCEPT, "text/csv");
+
+        // Steps
+        final var mvcResult = mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        request().asyncStarted(),
+                        // Rows are read by the async body after the response started, none on the request thread
+                        sqlStatements(0))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith("text/csv"),
+                        content().string("""
+                                id,name,code,date_created,date_updated
+                                1,Japan,JP,2024-12-12 12:12:12.534,2024-12-12 12:12:12.634
+                                2,France,FR,2024-12-12 12:12:13.534,2024-12-12 12:12:13.634
+                                3,Australia,AU,2024-12-12 12:12:14.534,2024-12-12 12:12:14.634
+                                4,Austria,AT ,2024-12-12 12:12:15.534,2024-12-12 12:12:15.634
+                                """)
+                );
+
+    }
+
+}
@@ -1,17 +1,21 @@
 package com.example.country.data.controller;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
+import static com.example.country.datasource.SqlStatementBudget.sqlStatements;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,6 +30,14 @@ class CountryControllerIT {
     @Autowired
     MockMvc mockMvc;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    // Ids repeat across tests, a country cached by an earlier one would hide the statement that loads it
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+    }
 
     @Test
     @Sql("/sql/countries.sql")
@@ -42,6 +54,7 @@ class CountryControllerIT {
                 // Assertions
                 .andExpectAll(
                         status().isOk(),
+                        sqlStatements(1),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json("""
                                 {
@@ -54,6 +67,44 @@ class CountryControllerIT {
 
     }
 
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("findById: returns NOT_MODIFIED when ETag matches and OK when it is stale")
+    void findById_ConditionalRequest_RevalidatesByVersion() throws Exception {
+
+        // Data
+        final var eTag = mockMvc.perform(MockMvcRequestBuilders.get(COUNTRY_URL + 1))
+                .andExpectAll(
+                        status().isOk(),
+                        sqlStatements(1),
+                        header().string(HttpHeaders.ETAG, Matchers.startsWith("W/\"")),
+                        header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // Steps & Assertions
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRY_URL + 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotModified(),
+                        sqlStatements(1),
+                        header().string(HttpHeaders.ETAG, eTag),
+                        content().string(""));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRY_URL + 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-0\""))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        // The version query only, the country itself was loaded by the first request
+                        sqlStatements(1),
+                        header().string(HttpHeaders.ETAG, eTag),
+                        jsonPath("$.code", Matchers.is("JP")));
+
+    }
+
     @Test
     @Sql("/sql/countries.sql")
     @DisplayName("update: updates country when request is valid")
@@ -79,6 +130,7 @@ class CountryControllerIT {
                 // Assertions
                 .andExpectAll(
                         status().isOk(),
+                        sqlStatements(1),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         jsonPath("$.id", Matchers.is(1)),
                         jsonPath("$.name", Matchers.is("Spain")),
@@ -87,6 +139,36 @@ class CountryControllerIT {
 
     }
 
+    @Test
+    @Sql("/sql/countries.sql")
+    @DisplayName("update: keeps old values for fields missing in request")
+    void update_PartialRequest_KeepsOldValues() throws Exception {
+
+        // Data
+        final var requestBuilder = MockMvcRequestBuilders.patch(COUNTRY_URL + 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                          "code": "JPN"
+                        }""");
+
+        // Steps
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        sqlStatements(1),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.id", Matchers.is(1)),
+                        jsonPath("$.name", Matchers.is("Japan")),
+                        jsonPath("$.code", Matchers.is("JPN")),
+                        jsonPath("$.date_created", Matchers.is("2024-12-12 12:12:12.534"))
+                );
+
+    }
+
     @Test
     @DisplayName("update: returns NOT_FOUND when country does not exist")
     void update_NotFound_ReturnsNotFound() throws Exception {
@@ -108,6 +190,7 @@ class CountryControllerIT {
                 // Assertions
                 .andExpectAll(
                         status().isNotFound(),
+                        sqlStatements(1),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json("""
                                 {
@@ -150,6 +233,7 @@ class CountryControllerIT {
                 // Assertions
                 .andExpectAll(
                         status().isConflict(),
+                        sqlStatements(1),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json("""
                                 {
@@ -193,6 +277,7 @@ class CountryControllerIT {
                 // Assertions
                 .andExpectAll(
                         status().isBadRequest(),
+                        sqlStatements(0),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json("""
                                 {
@@ -232,7 +317,8 @@ class CountryControllerIT {
 
                 // Assertions
                 .andExpectAll(
-                        status().isNoContent()
+                        status().isNoContent(),
+                        sqlStatements(1)
                 );
     }
 
@@ -251,6 +337,7 @@ class CountryControllerIT {
                 // Assertions
                 .andExpectAll(
                         status().isNotFound(),
+                        sqlStatements(1),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json("""
                                 {
@@ -13,10 +13,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.MapBindingResult;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
@@ -25,8 +29,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("CountryController: Module tests")
@@ -46,25 +49,30 @@ class CountryControllerTest {
     CountryController countryController;
 
     @Test
-    @DisplayName("country: returns country when request is valid")
-    void country_ValidRequest_ReturnsCountry() {
+    @DisplayName("findById: returns country when request is valid")
+    void findById_ValidRequest_ReturnsCountry() {
 
         // Data
-        final var now = Timestamp.valueOf(LocalDateTime.now());
+        final var ldt = LocalDateTime.now();
+        final var now = Timestamp.valueOf(ldt);
         final var country = new Country(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, now, now);
+        final var expectedResponseDTO = new CountryResponseDTO(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, ldt, ldt);
 
         // Mock
         Mockito.doReturn(Optional.of(country))
                 .when(countryService)
                 .findById(country.getId());
 
-        // Steps
-        var result = countryController.country(country.getId());
+        // Test
+        final var result = countryController.findById(country.getId(), webRequest(new MockHttpServletRequest()));
 
         // Assertions
         assertAll(
                 () -> assertNotNull(result),
-                () -> assertEquals(country, result)
+                () -> assertEquals(expectedResponseDTO, result.getBody()),
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals("W/\"1-%d\"".formatted(now.getTime()), result.getHeaders().getETag()),
+                () -> assertEquals(now.getTime() / 1000 * 1000, result.getHeaders().getLastModified())
         );
 
         Mockito.verify(countryService).findById(country.getId());
@@ -73,49 +81,82 @@ class CountryControllerTest {
     }
 
     @Test
-    @DisplayName("country: throws CountryNotFoundException when country not found")
-    void country_ValidRequest_ThrowsCountryNotFound() {
+    @DisplayName("findById: throws CountryNotFoundException when country not found")
+    void findById_UnknownId_ThrowsCountryNotFound() {
+
+        // Mock
+        Mockito.doReturn(Optional.empty())
+                .when(countryService)
+                .findById(1L);
+
+        // Steps
+        final var exception = assertThrows(CountryNotFoundException.class,
+                () -> countryController.findById(1L, webRequest(new MockHttpServletRequest())));
+
+        // Assertions
+        assertEquals("Country with id = [1] not found", exception.getMessage());
+
+        Mockito.verify(countryService).findById(1L);
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    @Test
+    @DisplayName("findById: returns NOT_MODIFIED from the version alone when ETag matches")
+    void findById_MatchingETag_ReturnsNotModified() {
 
         // Data
-        final var now = Timestamp.valueOf(LocalDateTime.now());
-        final var country = new Country(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, now, now);
+        final var version = Timestamp.valueOf(LocalDateTime.of(2024, 12, 12, 12, 12, 12, 634_000_000));
+        final var request = new MockHttpServletRequest("GET", "/api/v1/country/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"1-%d\"".formatted(version.getTime()));
 
         // Mock
-        Mockito.doReturn(Optional.empty())
+        Mockito.doReturn(Optional.of(version))
                 .when(countryService)
-                .findById(country.getId());
+                .findVersionById(1L);
 
         // Steps
-        assertThrows(CountryNotFoundException.class, () -> countryController.country(1L));
+        final var result = countryController.findById(1L, webRequest(request));
 
         // Assertions
-        Mockito.verify(countryService).findById(country.getId());
+        assertAll(
+                () -> assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode()),
+                () -> assertNull(result.getBody())
+        );
+
+        Mockito.verify(countryService).findVersionById(1L);
         Mockito.verifyNoMoreInteractions(countryService);
 
     }
 
     @Test
-    @DisplayName("findById: returns country when request is valid")
-    void findById_ValidRequest_ReturnsCountry() {
+    @DisplayName("findById: returns country when ETag is stale")
+    void findById_StaleETag_ReturnsCountry() {
 
         // Data
-        final var ldt = LocalDateTime.now();
+        final var ldt = LocalDateTime.of(2024, 12, 12, 12, 12, 12, 634_000_000);
         final var now = Timestamp.valueOf(ldt);
         final var country = new Country(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, now, now);
-        final var expectedResponseDTO = new CountryResponseDTO(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, ldt, ldt);
+        final var request = new MockHttpServletRequest("GET", "/api/v1/country/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"1-0\"");
 
-        // Test
-        final var result = countryController.findById(country);
+        // Mock
+        Mockito.doReturn(Optional.of(now))
+                .when(countryService)
+                .findVersionById(1L);
+        Mockito.doReturn(Optional.of(country))
+                .when(countryService)
+                .findById(1L);
+
+        // Steps
+        final var result = countryController.findById(1L, webRequest(request));
 
         // Assertions
         assertAll(
-                () -> assertNotNull(result),
-                () -> assertEquals(expectedResponseDTO, result.getBody()),
-                () -> assertEquals(HttpStatus.OK, result.getStatusCode())
+                () -> assertEquals(HttpStatus.OK, result.getStatusCode()),
+                () -> assertEquals(new CountryResponseDTO(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, ldt, ldt), result.getBody())
         );
 
-        Mockito.verifyNoMoreInteractions(countryService);
-
     }
 
     @Test
@@ -127,22 +168,20 @@ class CountryControllerTest {
         final var past = Timestamp.valueOf(ldtPast);
         final var ldtNow = LocalDateTime.now();
         final var now = Timestamp.valueOf(ldtNow);
-        final var oldCountry = new Country(1L, VALID_COUNTRY_CODE, VALID_COUNTRY_CODE, past, past);
         final var requestDTO = new UpdateCountryRequestDTO(VALID_UPDATED_COUNTRY_NAME, VALID_UPDATED_COUNTRY_CODE);
         final var updatedCountry = new Country(1L, VALID_UPDATED_COUNTRY_NAME, VALID_UPDATED_COUNTRY_CODE, past, now);
         final var responseDTO = new CountryResponseDTO(1L, VALID_UPDATED_COUNTRY_NAME, VALID_UPDATED_COUNTRY_CODE, ldtPast, ldtNow);
         final var bindingResult = new MapBindingResult(Map.of(), "request");
 
         // Mock
-        doReturn(false)
-                .when(countryService)
-                .isCountryExistsByNameOrCodeAndNotId(VALID_UPDATED_COUNTRY_NAME, VALID_UPDATED_COUNTRY_CODE, 1L);
         doReturn(updatedCountry)
                 .when(countryService)
-                .update(any(Country.class), any(Country.class));
+                .update(eq(1L), argThat(countryArg ->
+                        countryArg.getName().equals(VALID_UPDATED_COUNTRY_NAME) &&
+                                countryArg.getCode().equals(VALID_UPDATED_COUNTRY_CODE)));
 
         // Steps
-        var result = countryController.update(oldCountry, requestDTO, bindingResult);
+        var result = countryController.update(1L, requestDTO, bindingResult);
 
         // Assertions
         assertAll(
@@ -151,47 +190,63 @@ class CountryControllerTest {
                 () -> assertEquals(HttpStatus.OK, result.getStatusCode())
         );
 
-        Mockito.verify(countryService).isCountryExistsByNameOrCodeAndNotId(VALID_UPDATED_COUNTRY_NAME, VALID_UPDATED_COUNTRY_CODE, 1L);
-        Mockito.verify(countryService).update(any(Country.class), any(Country.class));
+        Mockito.verify(countryService).update(eq(1L), any(Country.class));
         Mockito.verifyNoMoreInteractions(countryService);
     }
 
-
     @Test
     @DisplayName("update: throws CountryAlreadyExistsException when country already exists")
     void update_CountryAlreadyExists_ThrowsConflict() {
 
         // Data
-        final var now = Timestamp.valueOf(LocalDateTime.now());
-        final var oldCountry = new Country(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, now, now);
         final var requestDTO = new UpdateCountryRequestDTO(VALID_UPDATED_COUNTRY_NAME, VALID_UPDATED_COUNTRY_CODE);
         final var bindingResult = new MapBindingResult(Map.of(), "request");
 
         // Mock
-        Mockito.doReturn(true)
+        Mockito.doThrow(new CountryAlreadyExistsException("Country already exists"))
                 .when(countryService)
-                .isCountryExistsByNameOrCodeAndNotId(VALID_UPDATED_COUNTRY_NAME, VALID_UPDATED_COUNTRY_CODE, 1L);
+                .update(eq(1L), any(Country.class));
 
         // Steps
         final var exception = assertThrows(CountryAlreadyExistsException.class, () ->
-                countryController.update(oldCountry, requestDTO, bindingResult));
+                countryController.update(1L, requestDTO, bindingResult));
 
         // Assertions
         assertEquals("Country already exists", exception.getMessage());
 
-        Mockito.verify(countryService).isCountryExistsByNameOrCodeAndNotId(VALID_UPDATED_COUNTRY_NAME, VALID_UPDATED_COUNTRY_CODE, 1L);
+        Mockito.verify(countryService).update(eq(1L), any(Country.class));
         Mockito.verifyNoMoreInteractions(countryService);
 
     }
 
+    @Test
+    @DisplayName("update: throws CountryNotFoundException when country not found")
+    void update_UnknownId_ThrowsCountryNotFound() {
+
+        // Data
+        final var requestDTO = new UpdateCountryRequestDTO(VALID_UPDATED_COUNTRY_NAME, VALID_UPDATED_COUNTRY_CODE);
+        final var bindingResult = new MapBindingResult(Map.of(), "request");
+
+        // Mock
+        Mockito.doThrow(new CountryNotFoundException("Country with id = [1] not found"))
+                .when(countryService)
+                .update(eq(1L), any(Country.class));
+
+        // Steps
+        assertThrows(CountryNotFoundException.class, () ->
+                countryController.update(1L, requestDTO, bindingResult));
+
+        // Assertions
+        Mockito.verify(countryService).update(eq(1L), any(Country.class));
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
 
     @Test
     @DisplayName("update: throws BindException when request is invalid")
     void update_InvalidRequest_ThrowsBindException() {
 
         // Data
-        final var now = Timestamp.valueOf(LocalDateTime.now());
-        final var oldCountry = new Country(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, now, now);
         final var requestDTO = new UpdateCountryRequestDTO(SHORT_COUNTRY_NAME, SHORT_COUNTRY_CODE);
         final var bindingResult = new MapBindingResult(Map.of(), "request");
         bindingResult.addError(new FieldError("request", "name", "error"));
@@ -199,7 +254,7 @@ class CountryControllerTest {
 
         // Steps
         final var exception = assertThrows(BindException.class, () ->
-                countryController.update(oldCountry, requestDTO, bindingResult));
+                countryController.update(1L, requestDTO, bindingResult));
 
         // Assertions
         assertAll(
@@ -218,12 +273,8 @@ class CountryControllerTest {
     @DisplayName("delete: returns NO_CONTENT when request is valid")
     void delete_ValidRequest_ReturnsNoContent() {
 
-        // Data
-        final var now = Timestamp.valueOf(LocalDateTime.now());
-        final var country = new Country(1L, VALID_COUNTRY_NAME, VALID_COUNTRY_CODE, now, now);
-
         // Steps
-        final var result = countryController.delete(country);
+        final var result = countryController.delete(1L);
 
         // Assertions
         assertAll(
@@ -231,10 +282,31 @@ class CountryControllerTest {
                 () -> assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode())
         );
 
-        Mockito.verify(countryService).delete(country);
+        Mockito.verify(countryService).delete(1L);
         Mockito.verifyNoMoreInteractions(countryService);
 
     }
 
+    @Test
+    @DisplayName("delete: throws CountryNotFoundException when country not found")
+    void delete_UnknownId_ThrowsCountryNotFound() {
+
+        // Mock
+        Mockito.doThrow(new CountryNotFoundException("Country with id = [1] not found"))
+                .when(countryService)
+                .delete(1L);
+
+        // Steps
+        assertThrows(CountryNotFoundException.class, () -> countryController.delete(1L));
+
+        // Assertions
+        Mockito.verify(countryService).delete(1L);
+        Mockito.verifyNoMoreInteractions(countryService);
+
+    }
+
+    private static ServletWebRequest webRequest(MockHttpServletRequest request) {
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
 
 }
@@ -1,5 +1,7 @@
 package com.example.country.data.controller.advice;
 
+import com.example.country.data.controller.dto.ApiError;
+import com.example.country.ex.CountriesAlreadyExistException;
 import com.example.country.ex.CountryAlreadyExistsException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +14,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -60,4 +64,44 @@ class CountryAlreadyExistsControllerAdviceTest {
 
     }
 
+    @Test
+    @DisplayName("handleCountriesAlreadyExist: returns CONFLICT with one error per conflicting item")
+    void handleCountriesAlreadyExist_ReturnsConflictPerItem_Test() {
+
+        // Data
+        final var exception = new CountriesAlreadyExistException(
+                "Countries already exist",
+                List.of(
+                        new CountriesAlreadyExistException.Conflict(0, "Japan", "JP"),
+                        new CountriesAlreadyExistException.Conflict(2, "France", "FR")));
+
+        // Mock
+        ReflectionTestUtils.setField(advice, "apiVersion", API_VERSION);
+        Mockito.doReturn(REQUEST_URI + "/batch")
+                .when(request)
+                .getRequestURI();
+
+        // Steps
+        final var result = advice.handleCountriesAlreadyExist(exception, request);
+
+        // Assertions
+        assertAll(
+                () -> assertNotNull(result),
+                () -> assertEquals(HttpStatus.CONFLICT, result.getStatusCode()),
+                () -> assertEquals("Countries already exist", result.getBody().getError().message()),
+                () -> assertEquals(
+                        List.of(
+                                new ApiError.ErrorItem(
+                                        REQUEST_URI + "/batch",
+                                        ERROR_MESSAGE,
+                                        "Country [0] with name = [Japan] or code = [JP] already exists"),
+                                new ApiError.ErrorItem(
+                                        REQUEST_URI + "/batch",
+                                        ERROR_MESSAGE,
+                                        "Country [2] with name = [France] or code = [FR] already exists")),
+                        result.getBody().getError().errors())
+        );
+
+    }
+
 }
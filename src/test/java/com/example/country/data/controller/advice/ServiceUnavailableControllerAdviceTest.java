@@ -0,0 +1,61 @@
+package com.example.country.data.controller.advice;
+
+import com.example.country.ex.CountryWriteBufferUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ServiceUnavailableControllerAdvice: Module test")
+class ServiceUnavailableControllerAdviceTest {
+
+    private static final String API_VERSION = "1.0";
+    private static final String REQUEST_URI = "/api/v1/countries";
+
+    @Mock
+    private HttpServletRequest request;
+
+    @InjectMocks
+    private ServiceUnavailableControllerAdvice advice;
+
+    @Test
+    @DisplayName("handleCountryWriteBufferUnavailableException: returns SERVICE_UNAVAILABLE with Retry-After")
+    void handleCountryWriteBufferUnavailableException_ReturnsServiceUnavailable() {
+
+        // Data
+        final var reason = "Country write buffer is full";
+        final var exception = new CountryWriteBufferUnavailableException(reason);
+
+        // Mock
+        ReflectionTestUtils.setField(advice, "apiVersion", API_VERSION);
+        Mockito.doReturn(REQUEST_URI)
+                .when(request)
+                .getRequestURI();
+
+        // Steps
+        final var result = advice.handleCountryWriteBufferUnavailableException(exception, request);
+
+        // Assertions
+        assertAll(
+                () -> assertNotNull(result),
+                () -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, result.getStatusCode()),
+                () -> assertEquals("1", result.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)),
+                () -> assertEquals(API_VERSION, result.getBody().getApiVersion()),
+                () -> assertEquals("503 SERVICE_UNAVAILABLE", result.getBody().getError().code()),
+                () -> assertEquals(REQUEST_URI, result.getBody().getError().errors().getFirst().domain()),
+                () -> assertEquals(reason, result.getBody().getError().errors().getFirst().reason())
+        );
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.example.country.data.repository;
 
 import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.controller.dto.CountryResponseDTO;
 import com.example.country.data.entity.Country;
 import com.example.country.specs.CountrySpecs;
 import com.example.country.specs.filters.PartialTextSpec;
@@ -19,6 +20,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -105,10 +108,105 @@ class CountryRepositoryIT {
                         new CountryFilter("an", "F"),
                         1,
                         1,
-                        List.of("France"))
+                        List.of("France")),
+                Arguments.of(
+                        "Filter by wildcard characters only",
+                        new CountryFilter("%", "_"),
+                        0,
+                        0,
+                        List.of())
+        );
+    }
+
+    @ParameterizedTest(name = "Case {index}: {0}")
+    @MethodSource("findSlice_ArgumentsProvider")
+    @Sql("/sql/countries.sql")
+    @DisplayName("findSlice: returns page content and next page flag without counting")
+    void findSlice_ByPage_Test(String caseName, int page, int size, boolean expectedHasNext, List<String> expectedNames) {
+
+        // Data
+        final var pageable = PageRequest.of(page, size, Sort.Direction.ASC, "id");
+        final var specs = countrySpecs.findByCriteria(new CountryFilter(null, null));
+
+        // Steps
+        var result = countryRepository.findSlice(specs, pageable);
+
+        // Assertions
+        assertAll(
+                () -> assertNotNull(result),
+                () -> assertEquals(expectedHasNext, result.hasNext()),
+                () -> assertEquals(expectedNames, result.getContent().stream().map(Country::getName).toList())
+        );
+    }
+
+    static Stream<Arguments> findSlice_ArgumentsProvider() {
+        return Stream.of(
+                Arguments.of("First page", 0, 3, true, List.of("Japan", "France", "Australia")),
+                Arguments.of("Last full page", 1, 2, false, List.of("Australia", "Austria")),
+                Arguments.of("Last partial page", 1, 3, false, List.of("Austria"))
+        );
+    }
+
+    @ParameterizedTest(name = "Case {index}: {0}")
+    @MethodSource("findAll_ArgumentsProvider")
+    @Sql("/sql/countries.sql")
+    @DisplayName("findAllProjected: filters by partial name or code into response DTOs")
+    void findAllProjected_ByPartialFilters_Test(
+            String caseName,
+            CountryFilter filter,
+            int expectedTotalElements,
+            int expectedTotalPages,
+            List<String> expectedNames) {
+
+        // Data
+        final var pageable = PageRequest.of(0, 10, Sort.Direction.ASC, "id");
+        final var specs = countrySpecs.findByCriteria(filter);
+
+        // Steps
+        var result = countryRepository.findAllProjected(specs, pageable);
+
+        // Assertions
+        assertAll(
+                () -> assertNotNull(result),
+                () -> assertEquals(expectedTotalElements, result.getTotalElements()),
+                () -> assertEquals(expectedTotalPages, result.getTotalPages()),
+                () -> assertEquals(expectedNames, result.getContent().stream().map(CountryResponseDTO::name).toList())
         );
     }
 
+    @Sql("/sql/countries.sql")
+    @ParameterizedTest(name = "Case {index}: {0}")
+    @MethodSource("insertIfAbsent_ArgumentsProvider")
+    @DisplayName("insertIfAbsent: inserts only when name and code are unique ignoring case")
+    void insertIfAbsent_Test(String caseName, String name, String code, boolean expectedInserted) {
+
+        // Data
+        final var now = Timestamp.valueOf(LocalDateTime.of(2024, 12, 12, 12, 12, 12));
+
+        // Steps
+        var result = countryRepository.insertIfAbsent(name, code, now);
+
+        // Assertions
+        assertEquals(expectedInserted, result.isPresent());
+        result.ifPresent(country -> assertAll(
+                () -> assertNotNull(country.getId()),
+                () -> assertEquals(name, country.getName()),
+                () -> assertEquals(code, country.getCode()),
+                () -> assertEquals(now, country.getDateCreated())
+        ));
+
+    }
+
+    static Stream<Arguments> insertIfAbsent_ArgumentsProvider() {
+
+        return Stream.of(
+                Arguments.of("Not exists name and code", NOT_EXISTS_NAME, NOT_EXISTS_CODE, true),
+                Arguments.of("Exists name in other case", EXISTS_NAME.toUpperCase(), NOT_EXISTS_CODE, false),
+                Arguments.of("Exists code in other case", NOT_EXISTS_NAME, EXISTS_CODE.toLowerCase(), false)
+        );
+
+    }
+
     @Sql("/sql/countries.sql")
     @ParameterizedTest(name = "Case {index}: {0}")
     @MethodSource("existsByNameOrCode_ArgumentsProvider")
@@ -0,0 +1,172 @@
+package com.example.country.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrencyLimitFilter: Module tests")
+class ConcurrencyLimitFilterTest {
+
+    private static final String COUNTRIES_URL = "/api/v1/countries";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+            1,
+            1,
+            10,
+            Duration.ZERO,
+            "1.0",
+            new ObjectMapper(),
+            meterRegistry);
+
+    @Test
+    @DisplayName("doFilter: rejects a request over the limit with SERVICE_UNAVAILABLE")
+    void doFilter_OverLimit_ReturnsServiceUnavailable() throws Exception {
+
+        // Data
+        final var innerResponse = new MockHttpServletResponse();
+
+        // Steps
+        filter.doFilter(new MockHttpServletRequest("GET", COUNTRIES_URL), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", COUNTRIES_URL), innerResponse,
+                        (innerRequest, ignored) -> fail("second request must not reach the chain"))
+        );
+
+        // Assertions
+        assertAll(
+                () -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), innerResponse.getStatus()),
+                () -> assertEquals("1", innerResponse.getHeader(HttpHeaders.RETRY_AFTER)),
+                () -> assertTrue(innerResponse.getContentAsString().contains("Too many concurrent requests")),
+                () -> assertEquals(1.0, meterRegistry.get("country.concurrency.rejected").counter().count())
+        );
+
+    }
+
+    @Test
+    @DisplayName("doFilter: releases the permit when the request completes")
+    void doFilter_AfterCompletion_ReleasesPermit() throws Exception {
+
+        // Steps
+        filter.doFilter(new MockHttpServletRequest("GET", COUNTRIES_URL), new MockHttpServletResponse(), (request, response) -> {
+        });
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", COUNTRIES_URL), response, (request, ignored) -> {
+        });
+
+        // Assertions
+        assertAll(
+                () -> assertEquals(HttpStatus.OK.value(), response.getStatus()),
+                () -> assertEquals(0.0, meterRegistry.get("country.concurrency.in.flight").gauge().value())
+        );
+
+    }
+
+    @Test
+    @DisplayName("doFilter: keeps the permit of an async request until it completes")
+    void doFilter_AsyncRequest_ReleasesPermitOnComplete() throws Exception {
+
+        // Data
+        final var asyncRequest = new MockHttpServletRequest("GET", COUNTRIES_URL);
+        asyncRequest.setAsyncSupported(true);
+
+        // Steps
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+        final var inFlightWhileStreaming = meterRegistry.get("country.concurrency.in.flight").gauge().value();
+        asyncRequest.getAsyncContext().complete();
+
+        // Assertions
+        assertAll(
+                () -> assertEquals(1.0, inFlightWhileStreaming),
+                () -> assertEquals(0.0, meterRegistry.get("country.concurrency.in.flight").gauge().value())
+        );
+
+    }
+
+    @Test
+    @DisplayName("doFilter: doesn't limit requests outside the API")
+    void doFilter_NonApiRequest_NotLimited() throws Exception {
+
+        // Data
+        final var response = new MockHttpServletResponse();
+
+        // Steps
+        filter.doFilter(new MockHttpServletRequest("GET", COUNTRIES_URL), new MockHttpServletResponse(),
+                (request, ignored) -> filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response,
+                        (innerRequest, innerResponse) -> {
+                        })
+        );
+
+        // Assertions
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+
+    }
+
+    @Test
+    @DisplayName("ConcurrencyLimitFilter: refuses limits that together exceed the connection pool size")
+    void constructor_LimitOverPoolSize_ThrowsIllegalArgumentException() {
+
+        // Steps & Assertions
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimitFilter(
+                10,
+                1,
+                10,
+                Duration.ZERO,
+                "1.0",
+                new ObjectMapper(),
+                new SimpleMeterRegistry()));
+
+    }
+
+    @Test
+    @DisplayName("doFilter: a streaming export holds an export permit, not one of the API permits")
+    void doFilter_StreamingExport_UsesExportLimit() throws Exception {
+
+        // Data
+        final var export = new MockHttpServletRequest("GET", COUNTRIES_URL + "/export");
+        export.setAsyncSupported(true);
+        final var apiResponse = new MockHttpServletResponse();
+        final var secondExportResponse = new MockHttpServletResponse();
+
+        // Steps
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+        filter.doFilter(new MockHttpServletRequest("GET", COUNTRIES_URL), apiResponse, (request, response) -> {
+        });
+        filter.doFilter(new MockHttpServletRequest("GET", COUNTRIES_URL + "/export"), secondExportResponse,
+                (request, response) -> fail("second export must not reach the chain"));
+        final var exportsWhileStreaming = meterRegistry.get("country.concurrency.export.in.flight").gauge().value();
+        export.getAsyncContext().complete();
+
+        // Assertions
+        assertAll(
+                () -> assertEquals(HttpStatus.OK.value(), apiResponse.getStatus()),
+                () -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), secondExportResponse.getStatus()),
+                () -> assertEquals(1.0, exportsWhileStreaming),
+                () -> assertEquals(0.0, meterRegistry.get("country.concurrency.export.in.flight").gauge().value())
+        );
+
+    }
+
+    @Test
+    @DisplayName("ConcurrencyLimitFilter: max-in-flight 0 takes the pool size minus the export limit")
+    void constructor_DerivedLimit_LeavesRoomForExports() {
+
+        // Steps & Assertions
+        assertAll(
+                () -> assertDoesNotThrow(
+                        () -> new ConcurrencyLimitFilter(0, 2, 10, Duration.ZERO, "1.0", new ObjectMapper(), new SimpleMeterRegistry())),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new ConcurrencyLimitFilter(0, 10, 10, Duration.ZERO, "1.0", new ObjectMapper(), new SimpleMeterRegistry()))
+        );
+
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.example.country.datasource;
+
+import com.example.country.data.entity.Country;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Primary and replica are two independent databases here, so a row's location shows which one served the read
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("ReplicaRoutingDataSource: Integration tests")
+class ReplicaRoutingIT {
+
+    private static final String COUNTRIES_URL = "/api/v1/countries";
+    private static final String INSERT_COUNTRY = """
+            INSERT INTO app.country (name, code, date_created, date_updated)
+            VALUES (?, ?, now(), now())""";
+    private static final String COUNT_BY_NAME = "SELECT count(*) FROM app.country WHERE name = ?";
+
+    static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:16");
+    static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16");
+
+    static {
+        PRIMARY.start();
+        REPLICA.start();
+        Flyway.configure()
+                .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("app.datasource.replica.url", REPLICA::getJdbcUrl);
+        registry.add("app.datasource.replica.username", REPLICA::getUsername);
+        registry.add("app.datasource.replica.password", REPLICA::getPassword);
+        registry.add("app.datasource.replica.sticky-window", () -> "1m");
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        primaryJdbc().execute("TRUNCATE app.country RESTART IDENTITY");
+        replicaJdbc().execute("TRUNCATE app.country RESTART IDENTITY");
+    }
+
+    @Test
+    @DisplayName("findAll: reads from replica when client has no recent write")
+    void findAll_NoRecentWrite_ReadsFromReplica() throws Exception {
+
+        // Data
+        replicaJdbc().update(INSERT_COUNTRY, "Replica", "RP");
+        primaryJdbc().update(INSERT_COUNTRY, "Primary", "PR");
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL))
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.total_items").value(1),
+                        jsonPath("$.data[0].name").value("Replica"));
+
+    }
+
+    @Test
+    @DisplayName("findById: reads from replica when client has no recent write")
+    void findById_NoRecentWrite_ReadsFromReplica() throws Exception {
+
+        // Data
+        replicaJdbc().update(INSERT_COUNTRY, "Replica", "RP");
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/country/1"))
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.name").value("Replica"));
+
+    }
+
+    @Test
+    @DisplayName("findById: does not cache rows read from the replica")
+    void findById_ReplicaRead_NotCached() throws Exception {
+
+        // Data
+        replicaJdbc().update(INSERT_COUNTRY, "Replica", "RP");
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/country/1"))
+                .andExpect(status().isOk());
+
+        // Assertions
+        assertFalse(entityManagerFactory.getCache().contains(Country.class, 1L));
+
+    }
+
+    @Test
+    @DisplayName("add: writes to primary and sets read-your-writes cookie")
+    void add_ValidRequest_WritesToPrimary() throws Exception {
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.post(COUNTRIES_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "name": "Spain",
+                                  "code": "SP"
+                                }"""))
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isCreated(),
+                        cookie().exists(ReadYourWritesFilter.COOKIE_NAME),
+                        cookie().maxAge(ReadYourWritesFilter.COOKIE_NAME, 60));
+
+        assertEquals(1, primaryJdbc().queryForObject(COUNT_BY_NAME, Integer.class, "Spain"));
+        assertEquals(0, replicaJdbc().queryForObject(COUNT_BY_NAME, Integer.class, "Spain"));
+
+    }
+
+    @Test
+    @DisplayName("findAll: reads from primary within sticky window after own write")
+    void findAll_AfterOwnWrite_ReadsFromPrimary() throws Exception {
+
+        // Data
+        final var cookie = mockMvc.perform(MockMvcRequestBuilders.post(COUNTRIES_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "name": "Spain",
+                                  "code": "SP"
+                                }"""))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        // Steps & Assertions
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL).param("name", "Spain").cookie(cookie))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.total_items").value(1));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL).param("name", "Spain"))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.total_items").value(0));
+
+    }
+
+    @Test
+    @DisplayName("export: streams from primary within sticky window after own write")
+    void export_AfterOwnWrite_StreamsFromPrimary() throws Exception {
+
+        // Data
+        final var cookie = mockMvc.perform(MockMvcRequestBuilders.post(COUNTRIES_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "name": "Spain",
+                                  "code": "SP"
+                                }"""))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        // Steps
+        final var mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL + "/export")
+                        .header(HttpHeaders.ACCEPT, "text/csv")
+                        .cookie(cookie))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assertions
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().string(Matchers.containsString(",Spain,SP,")));
+
+    }
+
+    @Test
+    @DisplayName("findAll: reads from replica when sticky window has expired")
+    void findAll_ExpiredStickyCookie_ReadsFromReplica() throws Exception {
+
+        // Data
+        primaryJdbc().update(INSERT_COUNTRY, "Spain", "SP");
+        final var expired = new Cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(System.currentTimeMillis() - 1));
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL).param("name", "Spain").cookie(expired))
+                .andDo(print())
+
+                // Assertions
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.total_items").value(0));
+
+    }
+
+    private static JdbcTemplate primaryJdbc() {
+        return jdbcTemplate(PRIMARY);
+    }
+
+    private static JdbcTemplate replicaJdbc() {
+        return jdbcTemplate(REPLICA);
+    }
+
+    private static JdbcTemplate jdbcTemplate(PostgreSQLContainer<?> container) {
+        return new JdbcTemplate(
+                new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword()));
+    }
+
+}
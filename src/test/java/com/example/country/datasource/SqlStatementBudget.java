@@ -0,0 +1,39 @@
+package com.example.country.datasource;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// MockMvc matcher for the exact number of statements a request may run, read from X-Sql-Statement-Count.
+// Needs app.sql.statement-count.header=true, which the test application.yaml sets
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static ResultMatcher sqlStatements(int expected) {
+        return result -> {
+            final var header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+            assertNotNull(header, SqlStatementCountFilter.HEADER + " is missing");
+            assertEquals(expected, Integer.parseInt(header), () -> "SQL statements for %s %s".formatted(
+                    result.getRequest().getMethod(),
+                    result.getRequest().getRequestURI()));
+        };
+    }
+
+    // For requests whose count depends on state shared by the whole test context, e.g. the pooled id sequence
+    public static ResultMatcher sqlStatementsAtMost(int max) {
+        return result -> {
+            final var header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+            assertNotNull(header, SqlStatementCountFilter.HEADER + " is missing");
+            assertTrue(Integer.parseInt(header) <= max, () -> "SQL statements for %s %s: %s, at most %d expected".formatted(
+                    result.getRequest().getMethod(),
+                    result.getRequest().getRequestURI(),
+                    header,
+                    max));
+        };
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.example.country.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlStatementCountFilter: Module tests")
+class SqlStatementCountFilterTest {
+
+    private static final String COUNTRY_URL = "/api/v1/country/1";
+    private static final String COUNTRY_PATTERN = "/api/v1/country/{id}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @Test
+    @DisplayName("doFilter: sets the statement count before the body is written")
+    void doFilter_WithBody_SetsHeaderBeforeBody() throws Exception {
+
+        // Data
+        final var filter = new SqlStatementCountFilter(counter, true, meterRegistry);
+        final var request = new MockHttpServletRequest("PATCH", COUNTRY_URL);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, COUNTRY_PATTERN);
+        final var response = new MockHttpServletResponse();
+
+        // Steps
+        filter.doFilter(request, response, (ignored, chainResponse) -> {
+            counter.afterQuery(null, List.of());
+            counter.afterQuery(null, List.of());
+            chainResponse.getWriter().write("{}");
+            chainResponse.flushBuffer();
+            // Runs after the response was committed, so it reaches the metric but not the header
+            counter.afterQuery(null, List.of());
+        });
+
+        // Assertions
+        final var summary = meterRegistry.get("country.sql.statements")
+                .tag("method", "PATCH")
+                .tag("uri", COUNTRY_PATTERN)
+                .summary();
+        assertAll(
+                () -> assertEquals("2", response.getHeader(SqlStatementCountFilter.HEADER)),
+                () -> assertEquals(1, summary.count()),
+                () -> assertEquals(3.0, summary.totalAmount()),
+                () -> assertEquals(0, counter.current())
+        );
+
+    }
+
+    @Test
+    @DisplayName("doFilter: sets the statement count on a response without body")
+    void doFilter_WithoutBody_SetsHeaderAfterChain() throws Exception {
+
+        // Data
+        final var filter = new SqlStatementCountFilter(counter, true, meterRegistry);
+        final var response = new MockHttpServletResponse();
+
+        // Steps
+        filter.doFilter(new MockHttpServletRequest("DELETE", COUNTRY_URL), response, (ignored, chainResponse) -> {
+            counter.afterQuery(null, List.of());
+            ((HttpServletResponse) chainResponse).setStatus(HttpStatus.NO_CONTENT.value());
+        });
+
+        // Assertions
+        assertEquals("1", response.getHeader(SqlStatementCountFilter.HEADER));
+
+    }
+
+    @Test
+    @DisplayName("doFilter: records the metric without the header when the header is off")
+    void doFilter_HeaderDisabled_RecordsMetricOnly() throws Exception {
+
+        // Data
+        final var filter = new SqlStatementCountFilter(counter, false, meterRegistry);
+        final var response = new MockHttpServletResponse();
+
+        // Steps
+        filter.doFilter(new MockHttpServletRequest("GET", COUNTRY_URL), response,
+                (ignored, chainResponse) -> counter.afterQuery(null, List.of()));
+
+        // Assertions
+        assertAll(
+                () -> assertNull(response.getHeader(SqlStatementCountFilter.HEADER)),
+                () -> assertEquals(1.0, meterRegistry.get("country.sql.statements").tag("uri", "UNKNOWN").summary().totalAmount())
+        );
+
+    }
+
+    @Test
+    @DisplayName("afterQuery: ignores statements outside a request")
+    void afterQuery_NotStarted_DoesNotCount() {
+
+        // Steps
+        counter.afterQuery(null, List.of());
+
+        // Assertions
+        assertEquals(0, counter.current());
+
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.example.country.ingest;
+
+import com.example.country.data.entity.Country;
+import com.example.country.ex.CountryAlreadyExistsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: creates are committed by the flusher thread in its own transaction
+@SpringBootTest(properties = {
+        "app.ingest.group-commit.enabled=true",
+        "app.ingest.group-commit.flush-interval=200ms"
+})
+@AutoConfigureMockMvc
+// The fixture inserts explicit ids, so the sequence is moved past them for the buffered inserts
+@Sql(scripts = "/sql/countries.sql", statements = "SELECT setval('app.country_id_seq', 4)")
+@Sql(statements = "TRUNCATE app.country", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DisplayName("CountryWriteBuffer: Integration tests")
+class CountryWriteBufferIT {
+
+    private static final int CREATES = 20;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CountryWriteBuffer countryWriteBuffer;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("add: concurrent creates share a commit and each gets its own row or conflict")
+    void add_ConcurrentCreates_CompletedPerRequest() throws Exception {
+
+        // Data
+        final var countries = new ArrayList<Country>();
+        IntStream.range(0, CREATES).forEach(i -> countries.add(country("Country-" + i, "C" + i)));
+        countries.add(country("jApAn", "XX"));
+        countries.add(country("Spain", "SP"));
+        countries.add(country("Spain", "SP"));
+        final var batchesBefore = meterRegistry.get("country.write.buffer.batch.size").summary().count();
+
+        // Steps
+        final var results = new ArrayList<Future<Country>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            countries.forEach(country -> results.add(executor.submit(() -> countryWriteBuffer.add(country))));
+        }
+
+        // Assertions
+        final var added = new ArrayList<Country>();
+        final var conflicts = new ArrayList<Throwable>();
+        for (var result : results) {
+            try {
+                added.add(result.get());
+            } catch (ExecutionException ex) {
+                conflicts.add(ex.getCause());
+            }
+        }
+        final var batches = meterRegistry.get("country.write.buffer.batch.size").summary().count() - batchesBefore;
+
+        assertAll(
+                () -> assertEquals(CREATES + 1, added.size()),
+                () -> assertEquals(2, conflicts.size()),
+                () -> assertTrue(conflicts.stream().allMatch(CountryAlreadyExistsException.class::isInstance)),
+                () -> assertTrue(added.stream().allMatch(country -> country.getId() != null)),
+                () -> assertEquals(1, added.stream().filter(country -> country.getName().equals("Spain")).count()),
+                () -> assertEquals(4 + CREATES + 1, count()),
+                () -> assertTrue(batches < countries.size(), "creates were not grouped")
+        );
+
+    }
+
+    @Test
+    @DisplayName("add: POST returns CREATED for new and CONFLICT for existing countries")
+    void add_ThroughApi_ReturnsCreatedOrConflict() throws Exception {
+
+        // Steps & Assertions
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/countries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "name": "Spain",
+                                  "code": "SP"
+                                }"""))
+                .andExpectAll(
+                        status().isCreated(),
+                        jsonPath("$.name", Matchers.is("Spain")));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/countries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "name": "France",
+                                  "code": "XX"
+                                }"""))
+                .andExpectAll(
+                        status().isConflict(),
+                        jsonPath("$.error.code", Matchers.is("409 CONFLICT")));
+
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM app.country", Integer.class);
+    }
+
+    private static Country country(String name, String code) {
+        return Country.builder().name(name).code(code).build();
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.example.country.ingest;
+
+import com.example.country.data.entity.Country;
+import com.example.country.data.repository.CountryBulkRepository;
+import com.example.country.ex.CountryWriteBufferUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CountryWriteBuffer: Module tests")
+class CountryWriteBufferTest {
+
+    @Mock
+    CountryBulkRepository countryBulkRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    private CountryWriteBuffer countryWriteBuffer;
+
+    @AfterEach
+    void tearDown() {
+        countryWriteBuffer.stop();
+    }
+
+    @Test
+    @DisplayName("add: an Error in the group commit fails its creates and the flusher keeps running")
+    void add_ErrorInFlush_FailsBatchAndKeepsFlusher() {
+
+        // Data
+        countryWriteBuffer = start(Duration.ofSeconds(5));
+        final var spain = Country.builder().id(5L).name("Spain").code("SP").build();
+        when(countryBulkRepository.insertAllIfAbsent(any(), any()))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(List.of(spain));
+
+        // Steps & Assertions
+        assertThrows(CountryWriteBufferUnavailableException.class, () -> countryWriteBuffer.add(country("Spain", "SP")));
+        assertEquals(spain, countryWriteBuffer.add(country("Spain", "SP")));
+
+    }
+
+    @Test
+    @DisplayName("add: returns SERVICE_UNAVAILABLE when the group commit doesn't finish in time")
+    void add_SlowFlush_TimesOut() {
+
+        // Data
+        countryWriteBuffer = start(Duration.ofMillis(100));
+        final var release = new CountDownLatch(1);
+        when(countryBulkRepository.insertAllIfAbsent(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+
+        // Steps & Assertions
+        try {
+            assertThrows(CountryWriteBufferUnavailableException.class, () -> countryWriteBuffer.add(country("Spain", "SP")));
+        } finally {
+            release.countDown();
+        }
+
+    }
+
+    private CountryWriteBuffer start(Duration resultTimeout) {
+        final var buffer = new CountryWriteBuffer(
+                countryBulkRepository,
+                transactionManager,
+                eventPublisher,
+                new SimpleMeterRegistry(),
+                true,
+                10,
+                10,
+                Duration.ofMillis(1),
+                Duration.ofMillis(100),
+                resultTimeout);
+        buffer.start();
+        return buffer;
+    }
+
+    private static Country country(String name, String code) {
+        return Country.builder().name(name).code(code).build();
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.example.country.search;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the index is loaded and updated from committed rows only
+@SpringBootTest(properties = "app.search.trigram.enabled=true")
+@AutoConfigureMockMvc
+// The fixture inserts explicit ids, so the sequence is moved past them for the API insert
+@Sql(scripts = "/sql/countries.sql", statements = "SELECT setval('app.country_id_seq', 4)")
+@Sql(statements = "TRUNCATE app.country", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DisplayName("CountryTextIndex: Integration tests")
+class CountryTextIndexIT {
+
+    private static final String COUNTRIES_URL = "/api/v1/countries";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CountryTextIndex countryTextIndex;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        countryTextIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("match: answers searchable filters and leaves the rest to SQL")
+    void match_Test() {
+
+        // Steps & Assertions
+        assertAll(
+                () -> assertArrayEquals(new int[]{3, 4}, countryTextIndex.match(new CountryFilter("ustr", null)).orElseThrow()),
+                () -> assertArrayEquals(new int[]{2}, countryTextIndex.match(new CountryFilter("ran", "FR")).orElseThrow()),
+                () -> assertTrue(countryTextIndex.match(new CountryFilter("an", null)).isEmpty()),
+                () -> assertTrue(countryTextIndex.match(new CountryFilter(null, null)).isEmpty())
+        );
+
+    }
+
+    @Test
+    @DisplayName("findAll: finds a country added after the index was loaded")
+    void findAll_AfterAdd_ServedByIndex() throws Exception {
+
+        // Steps
+        mockMvc.perform(MockMvcRequestBuilders.post(COUNTRIES_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "name": "Austrasia",
+                                  "code": "AS"
+                                }"""))
+                .andExpect(status().isCreated());
+
+        // Assertions: patched from the event, the index is still current and answers right away
+        assertEquals(3, countryTextIndex.match(new CountryFilter("ustr", null)).orElseThrow().length);
+        mockMvc.perform(MockMvcRequestBuilders.get(COUNTRIES_URL)
+                        .param("name", "ustr")
+                        .param("sort", "name"))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.total_items", Matchers.is(3)),
+                        jsonPath("$.data[*].name", Matchers.contains("Australia", "Austrasia", "Austria")));
+
+    }
+
+    @Test
+    @DisplayName("match: falls back to SQL after a write it has not seen and catches up in the background")
+    void match_AfterForeignWrite_Rebuilds() {
+
+        // Steps: a write from another instance, no local event is published
+        jdbcTemplate.update("DELETE FROM app.country WHERE id = 4");
+
+        // Assertions
+        assertTrue(countryTextIndex.match(new CountryFilter("ustr", null)).isEmpty());
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertArrayEquals(new int[]{3},
+                        countryTextIndex.match(new CountryFilter("ustr", null)).orElseThrow()));
+
+    }
+
+}
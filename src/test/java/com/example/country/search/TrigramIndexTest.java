@@ -0,0 +1,91 @@
+package com.example.country.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TrigramIndex: Module tests")
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(4, "Austria");
+        index.put(1, "Japan");
+        index.put(3, "Australia");
+        index.put(2, "France");
+    }
+
+    @ParameterizedTest(name = "Case {index}: {0}")
+    @MethodSource("search_ArgumentsProvider")
+    @DisplayName("search: returns sorted ids of values containing the text ignoring case")
+    void search_Test(String caseName, String text, int[] expectedIds) {
+
+        // Steps & Assertions
+        assertArrayEquals(expectedIds, index.search(text));
+
+    }
+
+    static Stream<Arguments> search_ArgumentsProvider() {
+        return Stream.of(
+                Arguments.of("Common prefix", "AUST", new int[]{3, 4}),
+                Arguments.of("Infix", "ali", new int[]{3}),
+                Arguments.of("Whole value", "japan", new int[]{1}),
+                Arguments.of("Unknown trigram", "xyz", new int[]{}),
+                Arguments.of("Trigrams present but not adjacent", "ausria", new int[]{})
+        );
+    }
+
+    @Test
+    @DisplayName("put: replaces the previous value of the id")
+    void put_ExistingId_ReplacesValue() {
+
+        // Steps
+        index.put(2, "Spain");
+
+        // Assertions
+        assertAll(
+                () -> assertArrayEquals(new int[]{}, index.search("fra")),
+                () -> assertArrayEquals(new int[]{2}, index.search("spa")),
+                () -> assertEquals(4, index.size())
+        );
+
+    }
+
+    @Test
+    @DisplayName("remove: drops the id from every posting list")
+    void remove_ExistingId_NotFound() {
+
+        // Steps
+        index.remove(4);
+
+        // Assertions
+        assertAll(
+                () -> assertArrayEquals(new int[]{3}, index.search("aus")),
+                () -> assertEquals(3, index.size())
+        );
+
+    }
+
+    @Test
+    @DisplayName("isSearchable: requires at least one trigram")
+    void isSearchable_Test() {
+
+        // Steps & Assertions
+        assertAll(
+                () -> assertTrue(TrigramIndex.isSearchable("aus")),
+                () -> assertFalse(TrigramIndex.isSearchable("au"))
+        );
+
+    }
+
+}
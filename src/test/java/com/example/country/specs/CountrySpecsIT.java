@@ -0,0 +1,130 @@
+package com.example.country.specs;
+
+import com.example.country.data.controller.dto.CountryFilter;
+import com.example.country.data.entity.Country;
+import com.example.country.data.repository.CountryRepository;
+import com.example.country.specs.filters.PartialTextSpec;
+import com.example.country.util.LikeUtil;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.country.specs.CountrySpecsIT$CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        CountrySpecs.class,
+        PartialTextSpec.class
+})
+@DisplayName("CountrySpecs: Query plan tests")
+class CountrySpecsIT {
+
+    private static final String NAME_INDEX = "country_name_trgm_idx";
+    private static final String CODE_INDEX = "country_code_trgm_idx";
+
+    @Autowired
+    CountryRepository countryRepository;
+
+    @Autowired
+    CountrySpecs countrySpecs;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @ParameterizedTest(name = "Case {index}: {0}")
+    @MethodSource("findByCriteria_ArgumentsProvider")
+    @Sql("/sql/countries.sql")
+    @DisplayName("findByCriteria: partial filters are served by trigram indexes")
+    void findByCriteria_PartialFilters_UseTrigramIndex(String caseName, CountryFilter filter, List<String> expectedIndexes) {
+
+        // Steps
+        countryRepository.findAll(countrySpecs.findByCriteria(filter));
+        final var sql = CapturingStatementInspector.STATEMENTS.getLast();
+
+        // The table is tiny, so the planner has to be told that a sequential scan is not an option
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        final var plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, bindings(filter)));
+
+        // Assertions
+        assertAll(
+                () -> assertFalse(plan.contains("Seq Scan"), plan),
+                () -> assertTrue(expectedIndexes.stream().anyMatch(plan::contains), plan)
+        );
+
+    }
+
+    static Stream<Arguments> findByCriteria_ArgumentsProvider() {
+        return Stream.of(
+                Arguments.of("Filter by partial name", new CountryFilter("pan", null), List.of(NAME_INDEX)),
+                Arguments.of("Filter by partial code", new CountryFilter(null, "fra"), List.of(CODE_INDEX)),
+                Arguments.of("Filter by partial name and code", new CountryFilter("ustr", "aus"), List.of(NAME_INDEX, CODE_INDEX)),
+                Arguments.of("Filter by name with wildcards", new CountryFilter("a_b%", null), List.of(NAME_INDEX))
+        );
+    }
+
+    // Known limitation: a pattern shorter than 3 characters has no trigram, so the GIN index cannot narrow it
+    // and Postgres reads the whole index or the table. The filter still has to return the right rows
+    @ParameterizedTest(name = "Case {index}: {0}")
+    @MethodSource("findByCriteria_ShortPatterns_ArgumentsProvider")
+    @Sql("/sql/countries.sql")
+    @DisplayName("findByCriteria: partial filters shorter than a trigram still match")
+    void findByCriteria_ShortPatterns_Match(String caseName, CountryFilter filter, List<String> expectedNames) {
+
+        // Steps
+        final var result = countryRepository.findAll(countrySpecs.findByCriteria(filter));
+
+        // Assertions
+        assertEquals(expectedNames, result.stream().map(Country::getName).sorted().toList());
+
+    }
+
+    static Stream<Arguments> findByCriteria_ShortPatterns_ArgumentsProvider() {
+        return Stream.of(
+                Arguments.of("Filter by two-character name", new CountryFilter("an", null), List.of("France", "Japan")),
+                Arguments.of("Filter by one-character code", new CountryFilter(null, "a"), List.of("Australia", "Austria")),
+                Arguments.of("Filter by short name and code", new CountryFilter("an", "F"), List.of("France"))
+        );
+    }
+
+    private static Object[] bindings(CountryFilter filter) {
+        return Stream.of(filter.name(), filter.code())
+                .filter(text -> text != null && !text.trim().isEmpty())
+                .map(LikeUtil::containsPattern)
+                .toArray();
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+    }
+
+}
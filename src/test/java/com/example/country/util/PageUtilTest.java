@@ -0,0 +1,67 @@
+package com.example.country.util;
+
+import com.example.country.data.controller.dto.CountryResponseDTO;
+import com.example.country.data.controller.dto.TotalKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PageUtil: Module tests")
+class PageUtilTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 12, 12, 12, 12);
+
+    @ParameterizedTest(name = "Case {index}: {0}")
+    @MethodSource("toEstimatedPage_ArgumentsProvider")
+    @DisplayName("toEstimatedPage: uses the slice for exact totals and the estimate otherwise")
+    void toEstimatedPage_Test(String caseName,
+                              int page,
+                              int rows,
+                              boolean hasNext,
+                              long estimatedTotal,
+                              long expectedTotalItems,
+                              TotalKind expectedTotalKind) {
+
+        // Data
+        final var slice = new SliceImpl<>(countries(rows), PageRequest.of(page, 10), hasNext);
+
+        // Steps
+        var result = PageUtil.toEstimatedPage(slice, estimatedTotal);
+
+        // Assertions
+        assertAll(
+                () -> assertEquals(expectedTotalItems, result.totalItems()),
+                () -> assertEquals(expectedTotalKind, result.totalKind()),
+                () -> assertEquals(hasNext, result.hasNext())
+        );
+
+    }
+
+    static Stream<Arguments> toEstimatedPage_ArgumentsProvider() {
+        return Stream.of(
+                Arguments.of("Next page exists, estimate above seen rows", 0, 10, true, 500L, 500L, TotalKind.ESTIMATED),
+                Arguments.of("Next page exists, estimate below seen rows", 2, 10, true, 5L, 31L, TotalKind.ESTIMATED),
+                Arguments.of("Last page", 1, 4, false, 500L, 14L, TotalKind.EXACT),
+                Arguments.of("Empty first page", 0, 0, false, 500L, 0L, TotalKind.EXACT),
+                Arguments.of("Empty page past the end, estimate above offset", 10, 0, false, 500L, 100L, TotalKind.ESTIMATED),
+                Arguments.of("Empty page past the end, estimate below offset", 10, 0, false, 4L, 4L, TotalKind.ESTIMATED)
+        );
+    }
+
+    private static List<CountryResponseDTO> countries(int rows) {
+        return LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> new CountryResponseDTO(id, "Country-" + id, "C" + id, NOW, NOW))
+                .toList();
+    }
+
+}